@@ -1,7 +1,13 @@
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * MindGameApp (theming update)
@@ -21,6 +27,7 @@ public class MindGameApp extends JFrame {
     // Royal colors and fonts (centralized)
     private final Color ROYAL_BLUE = new Color(7, 18, 51);     // very dark royal blue
     private final Color ROYAL_GOLD = new Color(255, 215, 0);  // gold
+    private final Color ROYAL_BLUE_HOVER = new Color(12, 30, 80); // button hover
     private final Font TITLE_FONT = new Font("Georgia", Font.BOLD, 48);
     private final Font LARGE_FONT = new Font("Georgia", Font.BOLD, 28);
     private final Font MEDIUM_FONT = new Font("Georgia", Font.PLAIN, 20);
@@ -51,6 +58,43 @@ public class MindGameApp extends JFrame {
         add(mainPanel);
         cardLayout.show(mainPanel, "MAIN");
         setVisible(true);
+        resumeSessions();
+    }
+
+    // Restores whatever was in progress when the app (or a game window) was last closed.
+    private void resumeSessions() {
+        try (DataInputStream in = SessionSnapshot.open(SessionSnapshot.WORD_NAME, SessionSnapshot.WORD)) {
+            if (in != null) {
+                wordPanel.restore(in);
+                cardLayout.show(mainPanel, "WORD");
+            }
+        } catch (IOException e) {
+            SessionSnapshot.delete(SessionSnapshot.WORD_NAME);
+        }
+        ArrayList<String> tics;
+        try {
+            tics = SessionSnapshot.ticNames();
+        } catch (IOException e) {
+            return;
+        }
+        TicTacToeEngine engine = new TicTacToeEngine();
+        for (String name : tics) {
+            try (DataInputStream in = SessionSnapshot.open(name, SessionSnapshot.TIC)) {
+                if (in == null) continue;
+                int size = in.readUnsignedByte();
+                boolean vsAI = in.readBoolean();
+                int count = in.readUnsignedByte();
+                if (size < 3 || size > 5) throw new IOException("bad tic snapshot");
+                byte[] moves = new byte[count];
+                in.readFully(moves);
+                // only a legal game that is still in progress can be resumed
+                if (GameArchive.validate(engine, size, moves, count) != TicTacToeEngine.ONGOING)
+                    throw new IOException("bad tic snapshot");
+                new TicTacToePanel(size, vsAI).restore(name, moves);
+            } catch (IOException e) {
+                SessionSnapshot.delete(name);
+            }
+        }
     }
 
     // Helper to create text-only styled buttons (royal gold text, solid royal background)
@@ -66,7 +110,7 @@ public class MindGameApp extends JFrame {
         // hover effect: slightly brighter blue on hover
         btn.addMouseListener(new java.awt.event.MouseAdapter() {
             public void mouseEntered(java.awt.event.MouseEvent evt) {
-                btn.setBackground(new Color(12, 30, 80));
+                btn.setBackground(ROYAL_BLUE_HOVER);
             }
             public void mouseExited(java.awt.event.MouseEvent evt) {
                 btn.setBackground(ROYAL_BLUE);
@@ -99,6 +143,7 @@ public class MindGameApp extends JFrame {
             // Game choice buttons: smaller than title, prominent but compact
             JButton wordBtn = createTextButton("Word Scramble", LARGE_FONT, 300, 60);
             JButton ticBtn = createTextButton("Tic Tac Toe", LARGE_FONT, 300, 60);
+            JButton statsBtn = createTextButton("Statistics", MEDIUM_FONT, 200, 50);
             JButton exitBtn = createTextButton("Exit", MEDIUM_FONT, 200, 50);
 
             // wire actions to existing card layout and panels
@@ -110,6 +155,7 @@ public class MindGameApp extends JFrame {
                 cardLayout.show(mainPanel, "TICMENU");
                 ticMenuPanel.showMenu();
             });
+            statsBtn.addActionListener(_ -> showStatistics());
             exitBtn.addActionListener(_ -> System.exit(0));
 
             // arrange small header label above choices
@@ -125,6 +171,8 @@ public class MindGameApp extends JFrame {
             gbc.gridy++;
             center.add(ticBtn, gbc);
             gbc.gridy++;
+            center.add(statsBtn, gbc);
+            gbc.gridy++;
             center.add(exitBtn, gbc);
 
             add(center, BorderLayout.CENTER);
@@ -136,6 +184,22 @@ public class MindGameApp extends JFrame {
             footer.setBorder(new EmptyBorder(10,10,20,10));
             add(footer, BorderLayout.SOUTH);
         }
+
+        // Queried on BACKGROUND_IO, behind any pending writes or a compaction holding the store lock,
+        // so the EDT never waits on it.
+        private void showStatistics() {
+            BACKGROUND_IO.execute(() -> {
+                StringBuilder sb = new StringBuilder(StatsStore.get().leaderboard());
+                ArrayList<String> recent = StatsStore.get().history(10);
+                if (!recent.isEmpty()) {
+                    sb.append("\nRecent games\n");
+                    for (String line : recent) sb.append("  ").append(line).append('\n');
+                }
+                String text = sb.toString();
+                SwingUtilities.invokeLater(() ->
+                        JOptionPane.showMessageDialog(this, text, "Statistics", JOptionPane.INFORMATION_MESSAGE));
+            });
+        }
     }
 
     // ---------- Word Scramble Panel (UI restyled only; logic preserved) ----------
@@ -157,11 +221,18 @@ public class MindGameApp extends JFrame {
         private ArrayList<WordData> hardWords = new ArrayList<>();
         private ArrayList<WordData> currentList = new ArrayList<>();
         private Random rnd = new Random();
+        private final char[] scrambleBuf = new char[WordBank.LONGEST];
 
         private WordData currentWord;
+        private String currentLevel; // non-null while a session is running
+        private String sessionMode;  // JFR mode of the running session: the level, or "Online <level>"
         private int attemptsLeft;
         private int wordsShown = 0;
         private int maxRounds = 10; // words per session
+        private GameClient net;        // online session: words and guesses are judged by the server
+        private int onlineSession;     // bumped when a session ends so late network callbacks are dropped
+        private GuessEvent pendingGuess; // online guess sent, waiting for GUESS_RESULT
+        private int onlineWordLength;
 
         WordPanel() {
             setBackground(ROYAL_BLUE);
@@ -186,14 +257,17 @@ public class MindGameApp extends JFrame {
             levelCombo.setForeground(ROYAL_GOLD);
             levelCombo.setBackground(new Color(20, 30, 70));
             JButton startBtn = createTextButton("Start", MEDIUM_FONT, 110, 40);
+            JButton onlineBtn = createTextButton("Play Online", MEDIUM_FONT, 150, 40);
             JButton changeBtn = createTextButton("Back to Main", MEDIUM_FONT, 150, 40);
-            changeBtn.addActionListener(_ -> cardLayout.show(mainPanel, "MAIN"));
+            changeBtn.addActionListener(_ -> leave());
             startBtn.addActionListener(_ -> startSession());
+            onlineBtn.addActionListener(_ -> startOnline());
             levelPanel.add(new JLabel("Level:"));
             JLabel levelLabel = new JLabel(); levelLabel.setText(""); // spacer
             levelLabel.setForeground(ROYAL_GOLD);
             levelPanel.add(levelCombo);
             levelPanel.add(startBtn);
+            levelPanel.add(onlineBtn);
             levelPanel.add(changeBtn);
 
             topPanel.add(levelPanel, BorderLayout.SOUTH);
@@ -259,7 +333,7 @@ public class MindGameApp extends JFrame {
             controlPanel.add(instr, BorderLayout.CENTER);
 
             backBtn = createTextButton("Return to Main Menu", SMALL_FONT, 220, 40);
-            backBtn.addActionListener(_ -> cardLayout.show(mainPanel, "MAIN"));
+            backBtn.addActionListener(_ -> leave());
             JPanel bottomRight = new JPanel(new FlowLayout(FlowLayout.RIGHT));
             bottomRight.setOpaque(false);
             bottomRight.add(backBtn);
@@ -290,202 +364,23 @@ public class MindGameApp extends JFrame {
 
         void showLevelSelection() {
             levelCombo.setSelectedIndex(0);
-            setSessionInactive();
+            endSession("left");
         }
 
-        private void initializeAllWords() {
-            // Using your provided lists - copied exactly (kept structure)
-            String[][] easyData = {
-                    {"adventure","Involves exploration","Often exciting","Found in stories"},
-                    {"courage","Inner strength","Needed to face fear","Heroic quality"},
-                    {"harmony","Peaceful combination","Used in music","Opposite of conflict"},
-                    {"fortune","Great wealth","Related to luck","Can be found or lost"},
-                    {"journey","Travel experience","Has destination","Can be long or short"},
-                    {"wisdom","Deep knowledge","Comes with age","Guides decisions"},
-                    {"honest","Always truthful","A good virtue","Opposite of liar"},
-                    {"freedom","Independence","Desired by all","Opposite of slavery"},
-                    {"unity","Togetherness","Seen in teamwork","Opposite of division"},
-                    {"success","Achieving goals","Everyone desires","Opposite of failure"},
-                    {"hope","Feeling of expectation","Keeps us going","Opposite of despair"},
-                    {"peace","Calm and quiet","Opposite of war","Desired by nations"},
-                    {"kindness","Being generous","Comes from heart","Opposite of cruelty"},
-                    {"strength","Power or energy","Physical or emotional","Opposite of weakness"},
-                    {"patience","Ability to wait","Important virtue","Opposite of anger"},
-                    {"talent","Natural ability","Found in artists","Opposite of inexperience"},
-                    {"respect","Showing regard","Earned not demanded","Opposite of insult"},
-                    {"faith","Strong belief","Often spiritual","Opposite of doubt"},
-                    {"pride","Feeling of achievement","Can be good or bad","Opposite of shame"},
-                    {"friendship","Mutual bond","Built on trust","Between people"},
-                    {"creativity","Thinking new ideas","Important for art","Opposite of copying"},
-                    {"discipline","Self-control","Needed for success","Opposite of laziness"},
-                    {"gratitude","Thankfulness","Shown by appreciation","Opposite of ingratitude"},
-                    {"honesty","Truthfulness","Moral value","Builds trust"},
-                    {"determination","Strong will","Never gives up","Key to success"},
-                    {"empathy","Understanding feelings","Related to kindness","Builds connection"},
-                    {"focus","Concentration","Needed for goals","Opposite of distraction"},
-                    {"leadership","Guiding others","Needed in teamwork","Role of a leader"},
-                    {"responsibility","Being accountable","Important in work","Opposite of carelessness"},
-                    {"curiosity","Desire to learn","Drives innovation","Opposite of disinterest"},
-                    {"ambition","Strong desire","To achieve success","Career-related"},
-                    {"confidence","Self-belief","Seen in achievers","Opposite of doubt"},
-                    {"loyalty","Faithfulness","In relationships","Opposite of betrayal"},
-                    {"justice","Fair treatment","In courts","Opposite of bias"},
-                    {"humanity","Quality of being human","Caring and kind","Opposite of cruelty"},
-                    {"charity","Giving to others","Social act","Helps the poor"},
-                    {"motivation","Reason to act","Drives people","Comes from within"},
-                    {"perseverance","Continuing effort","Despite failures","Key to success"},
-                    {"teamwork","Working together","For common goal","Opposite of selfishness"},
-                    {"decision","Making choice","Involves judgment","Important in life"},
-                    {"opportunity","Favorable chance","Brings success","Must be taken"},
-                    {"time","Keeps moving","Can’t be reversed","Valuable resource"},
-                    {"nature","World around us","Includes trees","Source of life"},
-                    {"health","Physical fitness","State of well-being","Opposite of illness"},
-                    {"happiness","Feeling of joy","Desired by all","Opposite of sadness"},
-                    {"education","Learning process","Happens in schools","Knowledge source"},
-                    {"effort","Hard work","Leads to success","Opposite of laziness"},
-                    {"calmness","Peaceful state","Opposite of anger","Helps focus"},
-                    {"mindset","Way of thinking","Determines behavior","Can be positive"},
-                    {"politeness","Good manners","Social etiquette","Opposite of rudeness"},
-                    {"selfesteem","Self-respect","Based on confidence","Personal worth"},
-                    {"bravery","Facing fear","Seen in soldiers","Opposite of cowardice"},
-                    {"truth","What’s real","Honest fact","Opposite of lie"},
-                    {"love","Deep affection","Universal feeling","Builds bonds"},
-                    {"trust","Foundation of relation","Built over time","Easily broken"},
-                    {"calm","Peaceful state","Serenity","Opposite of chaos"},
-                    {"creativity","Original thinking","Artistic flair","Solves problems"},
-                    {"punctuality","Being on time","Important habit","Opposite of delay"},
-                    {"focus","Concentrated attention","Avoid distraction","Leads to success"},
-                    {"hope","Positive belief","Gives strength","Faith in future"},
-                    {"kindness","Helping others","Shows compassion","Warm heart"},
-                    {"truthfulness","Speaking truth","Builds character","Honesty quality"},
-                    {"empathy","Feeling others pain","Builds connection","Emotional skill"},
-                    {"love","Emotional bond","Affection","Universal feeling"},
-                    {"unity","Together as one","Creates strength","Common goal"},
-                    {"gratitude","Feeling thankful","Express appreciation","Builds happiness"},
-                    {"respect","Valuing others","Good behavior","Courtesy"}
-            };
-
-            String[][] mediumData = {
-                    {"algorithm","Step-by-step method","Used in coding","Solves problems"},
-                    {"transistor","Semiconductor device","Acts as switch","Has three terminals"},
-                    {"diode","One-way device","Rectifier","Has anode and cathode"},
-                    {"capacitor","Stores charge","Used in timing","Two plates"},
-                    {"resistor","Limits current","Color-coded","Measured in ohms"},
-                    {"amplifier","Boosts signals","Uses op-amp","Increases voltage"},
-                    {"transformer","Changes voltage","Works with coils","AC device"},
-                    {"signal","Electrical message","Analog or digital","Carries data"},
-                    {"frequency","Cycles per second","Measured in hertz","Wave property"},
-                    {"inductor","Stores energy","Magnetic field","Used in filters"},
-                    {"logic","Reasoning process","Used in circuits","Boolean operation"},
-                    {"transducer","Converts energy","Between forms","Used in sensors"},
-                    {"power","Energy per second","Measured in watts","P equals V I"},
-                    {"current","Flow of charge","Measured in amps","I equals V over R"},
-                    {"voltage","Electric potential","Measured in volts","V equals I R"},
-                    {"sensor","Detects changes","Used in IoT","Converts input to signal"},
-                    {"microchip","Tiny circuit","Controls function","Found in electronics"},
-                    {"microcontroller","Small computer","Used in devices","Controls operations"},
-                    {"database","Data storage","Organized collection","SQL manages it"},
-                    {"network","Connection system","Transfers data","Internet uses it"},
-                    {"software","Program code","Runs on hardware","Performs tasks"},
-                    {"hardware","Physical parts","Of computer","Includes cpu"},
-                    {"compiler","Converts code","To machine language","Programmer tool"},
-                    {"function","Block of code","Performs task","Used repeatedly"},
-                    {"loop","Repeats code","For or while type","Used in programming"},
-                    {"variable","Stores data","Has name and type","Used in code"},
-                    {"exception","Runtime error","Needs handling","In programs"},
-                    {"object","Instance of class","Used in oop","Has attributes"},
-                    {"filter","Removes noise","Used in circuits","Frequency tool"},
-                    {"protocol","Communication rule","TCP IP example","Ensures data transfer"},
-                    {"router","Network device","Directs data","Internet gateway"},
-                    {"antenna","Radiates waves","Used in communication","Transmits or receives"},
-                    {"relay","Control switch","Coil driven","Used in circuits"},
-                    {"debugging","Fixing errors","In code","Improves output"},
-                    {"firmware","Program in chip","Runs device","Embedded software"},
-                    {"power supply","Provides voltage","AC to DC","Used in circuits"},
-                    {"embedded","Built in system","Performs specific task","Found in devices"},
-                    {"encryption","Data protection","Converts to code","Cybersafety method"},
-                    {"cloud","Online storage","Remote access","Virtual servers"},
-                    {"wifi","Wireless network","Local connection","Internet access"},
-                    {"bluetooth","Short range","Wireless tech","Device pairing"},
-                    {"rfid","Radio id system","Used in tags","Contactless technology"},
-                    {"gps","Positioning system","Uses satellites","Gives location"},
-                    {"programming","Writing code","Uses logic","Developer task"},
-                    {"syntax","Grammar of code","Structure","Needs accuracy"},
-                    {"coding","Writing programs","Logical process","Developer skill"},
-                    {"technology","Modern advancement","Uses science","Improves life"},
-                    {"processor","Brain of computer","Executes code","Microchip"},
-                    {"logicgate","Digital switch","AND OR NOT","Boolean function"},
-                    {"sensornode","Iot component","Measures environment","Sends data"},
-                    {"photodiode","Light sensitive","Converts light","Used in sensors"},
-                    {"innovation","Creative improvement","New ideas","Scientific progress"},
-                    {"dataframe","Table of data","Used in analysis","Data science tool"},
-                    {"energy","Power in motion","Used in systems","Source of work"},
-                    {"modulation","Encoding signal","Used in am fm","Communication concept"},
-                    {"semiconductor","Partly conducts","Silicon based","Used in chips"},
-                    {"actuator","Produces motion","Converts energy","Opposite of sensor"},
-                    {"resilience","Ability to recover","After difficulty","Strength quality"},
-                    {"feedback","Output to input","Stabilizes system","Used in amplifiers"},
-                    {"decision","Making choice","Requires judgment","Everyday activity"}
-            };
-
-            String[][] hardData = {
-                    {"microprocessor","CPU on a chip","Executes code","Brain of computer"},
-                    {"oscillator","Generates waveform","Produces AC","Used in clocks"},
-                    {"modulation","Encodes signal","Used in communication","Alters frequency"},
-                    {"transformer","Voltage converter","Two windings","AC component"},
-                    {"algorithm","Problem solving steps","Used in AI","Core of logic"},
-                    {"amplifier","Signal booster","Increases voltage","Used in radios"},
-                    {"semiconductor","Conducts partly","Used in circuits","Found in processors"},
-                    {"encryption","Protects information","Data security","Converts to code"},
-                    {"microcontroller","Controls devices","Embedded system","Used in automation"},
-                    {"debugging","Fixing code","Removes errors","Software development"},
-                    {"feedback","Stabilizes systems","Output affects input","Control mechanism"},
-                    {"innovation","Introducing new","Scientific creation","Leads to progress"},
-                    {"programming","Logic building","Creating software","Uses syntax"},
-                    {"firmware","Low level code","Controls hardware","Non volatile memory"},
-                    {"oscilloscope","Measures signals","Displays waveform","Used in labs"},
-                    {"datascience","Field of study","Uses data","Statistical analysis"},
-                    {"perseverance","Continuous effort","Despite failure","Key to achievement"},
-                    {"determination","Strong will","Never gives up","Success key"},
-                    {"responsibility","Accountability","Moral trait","Required for trust"},
-                    {"humanity","Compassion","Quality of being human","Kind nature"},
-                    {"processorcore","Executes instructions","Part of cpu","Core component"},
-                    {"integratedcircuit","Chip that combines circuits","Miniaturized electronics","Used widely in devices"},
-                    {"signalprocessing","Analyzing signals","Used in communications","Transforms data"},
-                    {"sensorfusion","Combining data","From multiple sensors","Used in robotics"},
-                    {"embeddedsoftware","Software in devices","Specialized code","Runs on microcontrollers"},
-                    {"reliability","Consistency of performance","Important in systems","Reduces failures"},
-                    {"throughput","Amount processed","Performance metric","Data transfer rate"},
-                    {"latency","Delay in system","Measured in ms","Affects responsiveness"},
-                    {"bandwidth","Capacity in network","Measured in bps","Affects data rate"},
-                    {"heuristic","Practical approach","Not optimal","Used for speed"},
-                    {"scalability","Ability to grow","Handles load","Important for systems"},
-                    {"redundancy","Backup resources","Increases reliability","Prevents failure"},
-                    {"faulttolerance","Continues despite faults","Critical for uptime","Used in servers"},
-                    {"microarchitecture","Design of cpu internals","Defines performance","Complex layout"},
-                    {"synchronization","Timing coordination","Prevents race conditions","Used in concurrency"},
-                    {"concurrency","Parallel tasks","Requires synchronization","Increases throughput"},
-                    {"throughputanalysis","Measure of processed units","Used in performance","Optimizes systems"},
-                    {"signaltonoise","Ratio measure","Higher is better","Used in communications"},
-                    {"analogtodigital","Conversion process","Used by adc","Samples signals"},
-                    {"digitaltoanalog","Conversion process","Used by dac","Generates voltages"},
-                    {"nonvolatilememory","Retains data without power","Used in storage","Examples: eeprom flash"},
-                    {"protocoldesign","Specifies communication","Defines messages","Ensures compatibility"},
-                    {"softwareengineering","Engineering of software","Uses methodologies","Produces reliable systems"},
-                    {"systemintegration","Combining components","Ensures interoperability","Testing required"},
-                    {"controltheory","Study of controllers","Used in automation","Feedback based"},
-                    {"signalfiltering","Removes unwanted components","Used in dsp","Improves clarity"},
-                    {"statisticalanalysis","Analyzing data","Used in science","Finds patterns"},
-                    {"optimization","Finding best solution","Used in engineering","May use heuristics"}
-            };
+        // leaving the panel ends the session, so word.snap only survives a closed app
+        private void leave() {
+            endSession("left");
+            cardLayout.show(mainPanel, "MAIN");
+        }
 
+        private void initializeAllWords() {
             easyWords.clear();
             mediumWords.clear();
             hardWords.clear();
 
-            for (String[] a : easyData) easyWords.add(new WordData(a[0], new String[]{a[1], a[2], a[3]}));
-            for (String[] a : mediumData) mediumWords.add(new WordData(a[0], new String[]{a[1], a[2], a[3]}));
-            for (String[] a : hardData) hardWords.add(new WordData(a[0], new String[]{a[1], a[2], a[3]}));
+            easyWords.addAll(WordBank.words(WordBank.EASY));
+            mediumWords.addAll(WordBank.words(WordBank.MEDIUM));
+            hardWords.addAll(WordBank.words(WordBank.HARD));
 
             Collections.shuffle(easyWords);
             Collections.shuffle(mediumWords);
@@ -495,6 +390,11 @@ public class MindGameApp extends JFrame {
         void startSession() {
             String sel = (String) levelCombo.getSelectedItem();
             if (sel == null) sel = "Easy";
+            if (currentLevel != null) sessionEnd("Word Scramble", sessionMode, "restarted");
+            disconnect();
+            currentLevel = sel;
+            sessionMode = sel;
+            sessionStart("Word Scramble", sessionMode);
             switch (sel) {
                 case "Easy": currentList = new ArrayList<>(easyWords); break;
                 case "Medium": currentList = new ArrayList<>(mediumWords); break;
@@ -516,27 +416,237 @@ public class MindGameApp extends JFrame {
                 triesLabel.setText("");
                 return;
             }
-            int idx = rnd.nextInt(currentList.size());
-            currentWord = currentList.remove(idx);
+            currentWord = WordBank.pick(currentList, rnd);
             attemptsLeft = 4;
             wordsShown++;
-            scrambledLabel.setText(scrambleWord(currentWord.word));
+            scrambledLabel.setText(WordBank.scrambled(currentWord.word, scrambleBuf, rnd));
             hintLabel.setText("");
             triesLabel.setText("Attempts left: " + attemptsLeft);
             inputField.setText("");
             inputField.requestFocus();
+            saveSnapshot();
+        }
+
+        // level, its word list fingerprint, current word, tries, words shown and the remaining list as WordBank ids
+        private void saveSnapshot() {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + currentList.size() * 2);
+                DataOutputStream out = SessionSnapshot.begin(bytes, SessionSnapshot.WORD);
+                int level = StatsStore.wordLevel(currentLevel);
+                out.writeByte(level);
+                out.writeInt(WordBank.fingerprint(level));
+                out.writeShort(currentWord.id);
+                out.writeByte(attemptsLeft);
+                out.writeByte(wordsShown);
+                out.writeUTF(scrambledLabel.getText());
+                out.writeShort(currentList.size());
+                for (WordData w : currentList) out.writeShort(w.id);
+                SessionSnapshot.save(SessionSnapshot.WORD_NAME, bytes.toByteArray());
+            } catch (IOException e) {
+                // in-memory stream; cannot happen
+            }
+        }
+
+        void restore(DataInputStream in) throws IOException {
+            int level = in.readUnsignedByte();
+            if (level >= WordBank.LEVELS.length) throw new IOException("bad level");
+            // ids are list positions, so they only mean the same words if the list is unchanged
+            if (in.readInt() != WordBank.fingerprint(level)) throw new IOException("word list changed");
+            ArrayList<WordData> source = level == 0 ? easyWords : level == 1 ? mediumWords : hardWords;
+            WordData[] byId = new WordData[source.size()];
+            for (WordData w : source) byId[w.id] = w;
+            WordData word = byId[checkId(in.readUnsignedShort(), byId)];
+            int attempts = in.readUnsignedByte();
+            int shown = in.readUnsignedByte();
+            String scrambled = in.readUTF();
+            int remaining = in.readUnsignedShort();
+            ArrayList<WordData> list = new ArrayList<>(remaining);
+            for (int i = 0; i < remaining; i++) list.add(byId[checkId(in.readUnsignedShort(), byId)]);
+            if (attempts < 1 || attempts > 4) throw new IOException("bad attempts");
+
+            levelCombo.setSelectedIndex(level);
+            currentLevel = WordBank.LEVELS[level];
+            sessionMode = currentLevel;
+            sessionStart("Word Scramble", sessionMode);
+            currentWord = word;
+            currentList = list;
+            attemptsLeft = attempts;
+            wordsShown = shown;
+            scrambledLabel.setText(scrambled);
+            hintLabel.setText(attempts < 4 ? "Hint: " + word.hints[3 - attempts] : "");
+            triesLabel.setText("Attempts left: " + attemptsLeft);
+            inputField.setText("");
+            setSessionActive();
+        }
+
+        private int checkId(int id, WordData[] byId) throws IOException {
+            if (id >= byId.length) throw new IOException("unknown word id " + id);
+            return id;
+        }
+
+        // Same rules as a local session, but the server picks, scrambles and judges the words.
+        void startOnline() {
+            String sel = (String) levelCombo.getSelectedItem();
+            if (sel == null) sel = "Easy";
+            if (currentLevel != null) sessionEnd("Word Scramble", sessionMode, "restarted");
+            disconnect();
+            SessionSnapshot.delete(SessionSnapshot.WORD_NAME);
+            setSessionInactive();
+            currentLevel = sel;
+            currentWord = null;
+            sessionMode = "Online " + sel;
+            sessionStart("Word Scramble", sessionMode);
+            int level = StatsStore.wordLevel(sel);
+            int session = onlineSession;
+            String host = GameClient.host();
+            int port = GameClient.port();
+            scrambledLabel.setText("Connecting...");
+            Thread.ofVirtual().start(() -> {
+                try (GameClient c = new GameClient(host, port)) {
+                    SwingUtilities.invokeLater(() -> adopt(c, session));
+                    c.joinWord(level);
+                    readServer(c, session);
+                } catch (IOException e) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (session != onlineSession) return;
+                        endSession("disconnected");
+                        JOptionPane.showMessageDialog(this, "Lost connection to " + host + ":" + port + " (" + e.getMessage() + ")");
+                    });
+                }
+            });
+        }
+
+        // Hands a fresh connection to the EDT unless the session was ended while connecting.
+        private void adopt(GameClient c, int session) {
+            if (session == onlineSession) net = c;
+            else c.close();
+        }
+
+        private void readServer(GameClient c, int session) throws IOException {
+            while (true) {
+                int type = c.in.read();
+                if (type < 0) throw new EOFException("server closed the connection");
+                switch (type) {
+                    case GameServer.WORD: {
+                        String scrambled = c.in.readUTF();
+                        int attempts = c.in.readUnsignedByte();
+                        int round = c.in.readUnsignedByte();
+                        SwingUtilities.invokeLater(() -> {
+                            if (session == onlineSession) showOnlineWord(scrambled, attempts, round);
+                        });
+                        break;
+                    }
+                    case GameServer.GUESS_RESULT: {
+                        boolean correct = c.in.readBoolean();
+                        int attempts = c.in.readUnsignedByte();
+                        String text = c.in.readUTF();
+                        SwingUtilities.invokeLater(() -> {
+                            if (session == onlineSession) showOnlineResult(correct, attempts, text);
+                        });
+                        break;
+                    }
+                    case GameServer.SESSION_OVER:
+                        SwingUtilities.invokeLater(() -> {
+                            if (session != onlineSession) return;
+                            JOptionPane.showMessageDialog(this, "Session finished! Returning to level selection.");
+                            endSession("finished");
+                        });
+                        return;
+                    case GameServer.ERROR:
+                        System.err.println("[online] " + c.in.readUTF());
+                        break;
+                    default:
+                        throw new IOException("unexpected message " + type);
+                }
+            }
+        }
+
+        private void showOnlineWord(String scrambled, int attempts, int round) {
+            attemptsLeft = attempts;
+            wordsShown = round;
+            onlineWordLength = scrambled.length();
+            scrambledLabel.setText(scrambled);
+            hintLabel.setText("");
+            triesLabel.setText("Attempts left: " + attemptsLeft);
+            inputField.setText("");
+            setSessionActive();
+            nextBtn.setEnabled(false); // the protocol has no skip
+        }
+
+        // text is the next hint after a wrong guess, or the answer once the word is over
+        private void showOnlineResult(boolean correct, int attempts, String text) {
+            // spans the round trip from sending the guess to the server's verdict
+            GuessEvent ev = pendingGuess != null ? pendingGuess : new GuessEvent();
+            pendingGuess = null;
+            if (ev.isEnabled()) {
+                ev.level = currentLevel;
+                ev.wordLength = onlineWordLength;
+                ev.attempt = 5 - attemptsLeft;
+                ev.result = correct ? "correct" : (attempts == 0 ? "out of tries" : "wrong");
+                ev.commit();
+            }
+            if (correct) {
+                StatsStore.get().record(StatsStore.WORD_SOLVED, StatsStore.wordLevel(currentLevel), StatsStore.PLAYER_YOU,
+                        5 - attemptsLeft, attemptsLeft);
+                JOptionPane.showMessageDialog(this, "Correct! The word was: " + text, "Correct", JOptionPane.INFORMATION_MESSAGE);
+            } else if (attempts > 0) {
+                attemptsLeft = attempts;
+                hintLabel.setText("Hint: " + text);
+                triesLabel.setText("Attempts left: " + attemptsLeft);
+            } else {
+                StatsStore.get().record(StatsStore.WORD_FAILED, StatsStore.wordLevel(currentLevel), StatsStore.PLAYER_YOU, 4, 0);
+                JOptionPane.showMessageDialog(this, "Out of tries! The correct word was: " + text, "Moving On", JOptionPane.INFORMATION_MESSAGE);
+            }
+        }
+
+        private void disconnect() {
+            onlineSession++;
+            pendingGuess = null;
+            if (net != null) {
+                net.close();
+                net = null;
+            }
         }
 
         private void submitGuess() {
+            if (net != null) {
+                String guess = inputField.getText().trim();
+                if (guess.isEmpty()) return;
+                inputField.setText("");
+                pendingGuess = new GuessEvent();
+                pendingGuess.begin();
+                GameClient c = net;
+                BACKGROUND_IO.execute(() -> {
+                    try {
+                        c.guess(guess);
+                    } catch (IOException e) {
+                        // the reader thread sees the dead socket and ends the session
+                    }
+                });
+                return;
+            }
             if (currentWord == null) return;
-            String guess = inputField.getText().trim().toLowerCase();
-            if (guess.isEmpty()) return;
+            String guess = inputField.getText();
+            if (guess.isBlank()) return;
+
+            GuessEvent ev = new GuessEvent();
+            ev.begin();
+            boolean correct = WordBank.isCorrect(guess, currentWord.word);
+            if (ev.isEnabled()) {
+                ev.level = currentLevel;
+                ev.wordLength = currentWord.word.length();
+                ev.attempt = 5 - attemptsLeft;
+                ev.result = correct ? "correct" : (attemptsLeft <= 1 ? "out of tries" : "wrong");
+                ev.commit();
+            }
 
-            if (guess.equals(currentWord.word.toLowerCase())) {
+            if (correct) {
+                StatsStore.get().record(StatsStore.WORD_SOLVED, StatsStore.wordLevel(currentLevel), StatsStore.PLAYER_YOU,
+                        5 - attemptsLeft, attemptsLeft);
                 JOptionPane.showMessageDialog(this, "Correct! The word was: " + currentWord.word, "Correct", JOptionPane.INFORMATION_MESSAGE);
                 if (wordsShown >= maxRounds) {
                     JOptionPane.showMessageDialog(this, "Session finished! Returning to level selection.");
-                    setSessionInactive();
+                    endSession("finished");
                 } else {
                     pickNextWord();
                 }
@@ -550,11 +660,13 @@ public class MindGameApp extends JFrame {
                     hintLabel.setText("Hint: " + currentWord.hints[2]);
                 }
                 triesLabel.setText("Attempts left: " + attemptsLeft);
+                if (attemptsLeft > 0) saveSnapshot();
                 if (attemptsLeft <= 0) {
+                    StatsStore.get().record(StatsStore.WORD_FAILED, StatsStore.wordLevel(currentLevel), StatsStore.PLAYER_YOU, 4, 0);
                     JOptionPane.showMessageDialog(this, "Out of tries! The correct word was: " + currentWord.word, "Moving On", JOptionPane.INFORMATION_MESSAGE);
                     if (wordsShown >= maxRounds) {
                         JOptionPane.showMessageDialog(this, "Session finished! Returning to level selection.");
-                        setSessionInactive();
+                        endSession("finished");
                     } else {
                         pickNextWord();
                     }
@@ -567,34 +679,305 @@ public class MindGameApp extends JFrame {
                 pickNextWord();
             } else {
                 JOptionPane.showMessageDialog(this, "No more words in this session. Returning to level selection.");
-                setSessionInactive();
+                endSession("exhausted");
             }
         }
 
-        private String scrambleWord(String w) {
-            ArrayList<Character> chars = new ArrayList<>();
-            for (char c : w.toCharArray()) chars.add(c);
-            String scrambled;
-            do {
-                Collections.shuffle(chars);
-                StringBuilder sb = new StringBuilder();
-                for (char ch : chars) sb.append(ch);
-                scrambled = sb.toString();
-            } while (scrambled.equalsIgnoreCase(w));
-            return scrambled;
+        private void endSession(String outcome) {
+            if (currentLevel != null) sessionEnd("Word Scramble", sessionMode, outcome);
+            currentLevel = null;
+            disconnect();
+            setSessionInactive();
+            SessionSnapshot.delete(SessionSnapshot.WORD_NAME);
         }
     }
 
     // WordData container
     private static class WordData {
+        int id;          // position in its WordBank level list (stable across runs)
         String word;
         String[] hints;
-        WordData(String w, String[] h) {
+        WordData(int id, String w, String[] h) {
+            this.id = id;
             word = w;
             hints = h;
         }
     }
 
+    // ---------- Word Bank (word lists and scramble rules, shared by the UI, server and CLI) ----------
+    private static final class WordBank {
+        static final String[] LEVELS = {"Easy", "Medium", "Hard"};
+
+        // Using your provided lists - copied exactly (kept structure)
+        static final String[][] EASY = {
+                {"adventure","Involves exploration","Often exciting","Found in stories"},
+                {"courage","Inner strength","Needed to face fear","Heroic quality"},
+                {"harmony","Peaceful combination","Used in music","Opposite of conflict"},
+                {"fortune","Great wealth","Related to luck","Can be found or lost"},
+                {"journey","Travel experience","Has destination","Can be long or short"},
+                {"wisdom","Deep knowledge","Comes with age","Guides decisions"},
+                {"honest","Always truthful","A good virtue","Opposite of liar"},
+                {"freedom","Independence","Desired by all","Opposite of slavery"},
+                {"unity","Togetherness","Seen in teamwork","Opposite of division"},
+                {"success","Achieving goals","Everyone desires","Opposite of failure"},
+                {"hope","Feeling of expectation","Keeps us going","Opposite of despair"},
+                {"peace","Calm and quiet","Opposite of war","Desired by nations"},
+                {"kindness","Being generous","Comes from heart","Opposite of cruelty"},
+                {"strength","Power or energy","Physical or emotional","Opposite of weakness"},
+                {"patience","Ability to wait","Important virtue","Opposite of anger"},
+                {"talent","Natural ability","Found in artists","Opposite of inexperience"},
+                {"respect","Showing regard","Earned not demanded","Opposite of insult"},
+                {"faith","Strong belief","Often spiritual","Opposite of doubt"},
+                {"pride","Feeling of achievement","Can be good or bad","Opposite of shame"},
+                {"friendship","Mutual bond","Built on trust","Between people"},
+                {"creativity","Thinking new ideas","Important for art","Opposite of copying"},
+                {"discipline","Self-control","Needed for success","Opposite of laziness"},
+                {"gratitude","Thankfulness","Shown by appreciation","Opposite of ingratitude"},
+                {"honesty","Truthfulness","Moral value","Builds trust"},
+                {"determination","Strong will","Never gives up","Key to success"},
+                {"empathy","Understanding feelings","Related to kindness","Builds connection"},
+                {"focus","Concentration","Needed for goals","Opposite of distraction"},
+                {"leadership","Guiding others","Needed in teamwork","Role of a leader"},
+                {"responsibility","Being accountable","Important in work","Opposite of carelessness"},
+                {"curiosity","Desire to learn","Drives innovation","Opposite of disinterest"},
+                {"ambition","Strong desire","To achieve success","Career-related"},
+                {"confidence","Self-belief","Seen in achievers","Opposite of doubt"},
+                {"loyalty","Faithfulness","In relationships","Opposite of betrayal"},
+                {"justice","Fair treatment","In courts","Opposite of bias"},
+                {"humanity","Quality of being human","Caring and kind","Opposite of cruelty"},
+                {"charity","Giving to others","Social act","Helps the poor"},
+                {"motivation","Reason to act","Drives people","Comes from within"},
+                {"perseverance","Continuing effort","Despite failures","Key to success"},
+                {"teamwork","Working together","For common goal","Opposite of selfishness"},
+                {"decision","Making choice","Involves judgment","Important in life"},
+                {"opportunity","Favorable chance","Brings success","Must be taken"},
+                {"time","Keeps moving","Can’t be reversed","Valuable resource"},
+                {"nature","World around us","Includes trees","Source of life"},
+                {"health","Physical fitness","State of well-being","Opposite of illness"},
+                {"happiness","Feeling of joy","Desired by all","Opposite of sadness"},
+                {"education","Learning process","Happens in schools","Knowledge source"},
+                {"effort","Hard work","Leads to success","Opposite of laziness"},
+                {"calmness","Peaceful state","Opposite of anger","Helps focus"},
+                {"mindset","Way of thinking","Determines behavior","Can be positive"},
+                {"politeness","Good manners","Social etiquette","Opposite of rudeness"},
+                {"selfesteem","Self-respect","Based on confidence","Personal worth"},
+                {"bravery","Facing fear","Seen in soldiers","Opposite of cowardice"},
+                {"truth","What’s real","Honest fact","Opposite of lie"},
+                {"love","Deep affection","Universal feeling","Builds bonds"},
+                {"trust","Foundation of relation","Built over time","Easily broken"},
+                {"calm","Peaceful state","Serenity","Opposite of chaos"},
+                {"creativity","Original thinking","Artistic flair","Solves problems"},
+                {"punctuality","Being on time","Important habit","Opposite of delay"},
+                {"focus","Concentrated attention","Avoid distraction","Leads to success"},
+                {"hope","Positive belief","Gives strength","Faith in future"},
+                {"kindness","Helping others","Shows compassion","Warm heart"},
+                {"truthfulness","Speaking truth","Builds character","Honesty quality"},
+                {"empathy","Feeling others pain","Builds connection","Emotional skill"},
+                {"love","Emotional bond","Affection","Universal feeling"},
+                {"unity","Together as one","Creates strength","Common goal"},
+                {"gratitude","Feeling thankful","Express appreciation","Builds happiness"},
+                {"respect","Valuing others","Good behavior","Courtesy"}
+        };
+
+        static final String[][] MEDIUM = {
+                {"algorithm","Step-by-step method","Used in coding","Solves problems"},
+                {"transistor","Semiconductor device","Acts as switch","Has three terminals"},
+                {"diode","One-way device","Rectifier","Has anode and cathode"},
+                {"capacitor","Stores charge","Used in timing","Two plates"},
+                {"resistor","Limits current","Color-coded","Measured in ohms"},
+                {"amplifier","Boosts signals","Uses op-amp","Increases voltage"},
+                {"transformer","Changes voltage","Works with coils","AC device"},
+                {"signal","Electrical message","Analog or digital","Carries data"},
+                {"frequency","Cycles per second","Measured in hertz","Wave property"},
+                {"inductor","Stores energy","Magnetic field","Used in filters"},
+                {"logic","Reasoning process","Used in circuits","Boolean operation"},
+                {"transducer","Converts energy","Between forms","Used in sensors"},
+                {"power","Energy per second","Measured in watts","P equals V I"},
+                {"current","Flow of charge","Measured in amps","I equals V over R"},
+                {"voltage","Electric potential","Measured in volts","V equals I R"},
+                {"sensor","Detects changes","Used in IoT","Converts input to signal"},
+                {"microchip","Tiny circuit","Controls function","Found in electronics"},
+                {"microcontroller","Small computer","Used in devices","Controls operations"},
+                {"database","Data storage","Organized collection","SQL manages it"},
+                {"network","Connection system","Transfers data","Internet uses it"},
+                {"software","Program code","Runs on hardware","Performs tasks"},
+                {"hardware","Physical parts","Of computer","Includes cpu"},
+                {"compiler","Converts code","To machine language","Programmer tool"},
+                {"function","Block of code","Performs task","Used repeatedly"},
+                {"loop","Repeats code","For or while type","Used in programming"},
+                {"variable","Stores data","Has name and type","Used in code"},
+                {"exception","Runtime error","Needs handling","In programs"},
+                {"object","Instance of class","Used in oop","Has attributes"},
+                {"filter","Removes noise","Used in circuits","Frequency tool"},
+                {"protocol","Communication rule","TCP IP example","Ensures data transfer"},
+                {"router","Network device","Directs data","Internet gateway"},
+                {"antenna","Radiates waves","Used in communication","Transmits or receives"},
+                {"relay","Control switch","Coil driven","Used in circuits"},
+                {"debugging","Fixing errors","In code","Improves output"},
+                {"firmware","Program in chip","Runs device","Embedded software"},
+                {"power supply","Provides voltage","AC to DC","Used in circuits"},
+                {"embedded","Built in system","Performs specific task","Found in devices"},
+                {"encryption","Data protection","Converts to code","Cybersafety method"},
+                {"cloud","Online storage","Remote access","Virtual servers"},
+                {"wifi","Wireless network","Local connection","Internet access"},
+                {"bluetooth","Short range","Wireless tech","Device pairing"},
+                {"rfid","Radio id system","Used in tags","Contactless technology"},
+                {"gps","Positioning system","Uses satellites","Gives location"},
+                {"programming","Writing code","Uses logic","Developer task"},
+                {"syntax","Grammar of code","Structure","Needs accuracy"},
+                {"coding","Writing programs","Logical process","Developer skill"},
+                {"technology","Modern advancement","Uses science","Improves life"},
+                {"processor","Brain of computer","Executes code","Microchip"},
+                {"logicgate","Digital switch","AND OR NOT","Boolean function"},
+                {"sensornode","Iot component","Measures environment","Sends data"},
+                {"photodiode","Light sensitive","Converts light","Used in sensors"},
+                {"innovation","Creative improvement","New ideas","Scientific progress"},
+                {"dataframe","Table of data","Used in analysis","Data science tool"},
+                {"energy","Power in motion","Used in systems","Source of work"},
+                {"modulation","Encoding signal","Used in am fm","Communication concept"},
+                {"semiconductor","Partly conducts","Silicon based","Used in chips"},
+                {"actuator","Produces motion","Converts energy","Opposite of sensor"},
+                {"resilience","Ability to recover","After difficulty","Strength quality"},
+                {"feedback","Output to input","Stabilizes system","Used in amplifiers"},
+                {"decision","Making choice","Requires judgment","Everyday activity"}
+        };
+
+        static final String[][] HARD = {
+                {"microprocessor","CPU on a chip","Executes code","Brain of computer"},
+                {"oscillator","Generates waveform","Produces AC","Used in clocks"},
+                {"modulation","Encodes signal","Used in communication","Alters frequency"},
+                {"transformer","Voltage converter","Two windings","AC component"},
+                {"algorithm","Problem solving steps","Used in AI","Core of logic"},
+                {"amplifier","Signal booster","Increases voltage","Used in radios"},
+                {"semiconductor","Conducts partly","Used in circuits","Found in processors"},
+                {"encryption","Protects information","Data security","Converts to code"},
+                {"microcontroller","Controls devices","Embedded system","Used in automation"},
+                {"debugging","Fixing code","Removes errors","Software development"},
+                {"feedback","Stabilizes systems","Output affects input","Control mechanism"},
+                {"innovation","Introducing new","Scientific creation","Leads to progress"},
+                {"programming","Logic building","Creating software","Uses syntax"},
+                {"firmware","Low level code","Controls hardware","Non volatile memory"},
+                {"oscilloscope","Measures signals","Displays waveform","Used in labs"},
+                {"datascience","Field of study","Uses data","Statistical analysis"},
+                {"perseverance","Continuous effort","Despite failure","Key to achievement"},
+                {"determination","Strong will","Never gives up","Success key"},
+                {"responsibility","Accountability","Moral trait","Required for trust"},
+                {"humanity","Compassion","Quality of being human","Kind nature"},
+                {"processorcore","Executes instructions","Part of cpu","Core component"},
+                {"integratedcircuit","Chip that combines circuits","Miniaturized electronics","Used widely in devices"},
+                {"signalprocessing","Analyzing signals","Used in communications","Transforms data"},
+                {"sensorfusion","Combining data","From multiple sensors","Used in robotics"},
+                {"embeddedsoftware","Software in devices","Specialized code","Runs on microcontrollers"},
+                {"reliability","Consistency of performance","Important in systems","Reduces failures"},
+                {"throughput","Amount processed","Performance metric","Data transfer rate"},
+                {"latency","Delay in system","Measured in ms","Affects responsiveness"},
+                {"bandwidth","Capacity in network","Measured in bps","Affects data rate"},
+                {"heuristic","Practical approach","Not optimal","Used for speed"},
+                {"scalability","Ability to grow","Handles load","Important for systems"},
+                {"redundancy","Backup resources","Increases reliability","Prevents failure"},
+                {"faulttolerance","Continues despite faults","Critical for uptime","Used in servers"},
+                {"microarchitecture","Design of cpu internals","Defines performance","Complex layout"},
+                {"synchronization","Timing coordination","Prevents race conditions","Used in concurrency"},
+                {"concurrency","Parallel tasks","Requires synchronization","Increases throughput"},
+                {"throughputanalysis","Measure of processed units","Used in performance","Optimizes systems"},
+                {"signaltonoise","Ratio measure","Higher is better","Used in communications"},
+                {"analogtodigital","Conversion process","Used by adc","Samples signals"},
+                {"digitaltoanalog","Conversion process","Used by dac","Generates voltages"},
+                {"nonvolatilememory","Retains data without power","Used in storage","Examples: eeprom flash"},
+                {"protocoldesign","Specifies communication","Defines messages","Ensures compatibility"},
+                {"softwareengineering","Engineering of software","Uses methodologies","Produces reliable systems"},
+                {"systemintegration","Combining components","Ensures interoperability","Testing required"},
+                {"controltheory","Study of controllers","Used in automation","Feedback based"},
+                {"signalfiltering","Removes unwanted components","Used in dsp","Improves clarity"},
+                {"statisticalanalysis","Analyzing data","Used in science","Finds patterns"},
+                {"optimization","Finding best solution","Used in engineering","May use heuristics"}
+        };
+
+        static String[][] data(int level) {
+            switch (level) {
+                case 1: return MEDIUM;
+                case 2: return HARD;
+                default: return EASY;
+            }
+        }
+
+        // Identifies a level's word list (words and hints, in order); String.hashCode is fixed by the spec,
+        // so the value is stable across runs and JVMs.
+        static int fingerprint(int level) {
+            return Arrays.deepHashCode(data(level));
+        }
+
+        static ArrayList<WordData> words(String[][] data) {
+            ArrayList<WordData> list = new ArrayList<>(data.length);
+            for (String[] a : data) list.add(new WordData(list.size(), a[0], new String[]{a[1], a[2], a[3]}));
+            return list;
+        }
+
+        // longest built-in word; the panel and the server size their scramble buffers with it
+        static final int LONGEST = longest();
+
+        private static int longest() {
+            int n = 0;
+            for (String[][] level : new String[][][]{EASY, MEDIUM, HARD})
+                for (String[] a : level) n = Math.max(n, a[0].length());
+            return n;
+        }
+
+        // The next word of a session: removed at random from what is left.
+        static WordData pick(ArrayList<WordData> list, java.util.random.RandomGenerator rnd) {
+            return list.remove(rnd.nextInt(list.size()));
+        }
+
+        // Scrambles w through the caller's buffer (at least w.length() chars); only the returned String is allocated.
+        static String scrambled(String w, char[] buf, java.util.random.RandomGenerator rnd) {
+            ScrambleEvent ev = new ScrambleEvent();
+            ev.begin();
+            int shuffles = scramble(w, buf, rnd);
+            String scrambled = new String(buf, 0, w.length());
+            if (ev.isEnabled()) {
+                ev.wordLength = w.length();
+                ev.shuffles = shuffles;
+                ev.commit();
+            }
+            return scrambled;
+        }
+
+        // A guess is judged ignoring case and surrounding whitespace.
+        static boolean isCorrect(String guess, String word) {
+            return guess.trim().equalsIgnoreCase(word);
+        }
+
+        // Copies w into chars[0..w.length()) and shuffles it until it differs from w (ignoring case);
+        // returns the number of shuffles. Nothing is allocated.
+        static int scramble(String w, char[] chars, java.util.random.RandomGenerator rnd) {
+            int n = w.length();
+            w.getChars(0, n, chars, 0);
+            if (!hasDistinctLetters(chars, n)) return 0;
+            int shuffles = 0;
+            do {
+                for (int i = n - 1; i > 0; i--) {
+                    int j = rnd.nextInt(i + 1);
+                    char t = chars[i]; chars[i] = chars[j]; chars[j] = t;
+                }
+                shuffles++;
+            } while (sameIgnoreCase(chars, w));
+            return shuffles;
+        }
+
+        // a word made of one repeated letter (or a single letter) can never be scrambled
+        private static boolean hasDistinctLetters(char[] chars, int n) {
+            for (int i = 1; i < n; i++)
+                if (Character.toLowerCase(chars[i]) != Character.toLowerCase(chars[0])) return true;
+            return false;
+        }
+
+        private static boolean sameIgnoreCase(char[] chars, String w) {
+            for (int i = 0; i < w.length(); i++)
+                if (Character.toLowerCase(chars[i]) != Character.toLowerCase(w.charAt(i))) return false;
+            return true;
+        }
+    }
+
     // ---------- Tic Tac Toe Menu Panel (restyled only) ----------
     private class TicTacToeMenuPanel extends JPanel {
         private JButton b3, b4, b5, backBtn;
@@ -614,7 +997,7 @@ public class MindGameApp extends JFrame {
             add(title, gbc);
 
             gbc.gridy++;
-            modeCombo = new JComboBox<>(new String[]{"Player vs Player", "Player vs Computer"});
+            modeCombo = new JComboBox<>(new String[]{"Player vs Player", "Player vs Computer", "Online vs Player"});
             modeCombo.setFont(SMALL_FONT);
             modeCombo.setBackground(new Color(20, 30, 70));
             modeCombo.setForeground(ROYAL_GOLD);
@@ -630,9 +1013,14 @@ public class MindGameApp extends JFrame {
             b5 = createTextButton("Play 5 x 5", MEDIUM_FONT, 200, 48);
             add(b5, gbc);
             gbc.gridy++;
+            JButton replayBtn = createTextButton("Replay Last Game", SMALL_FONT, 200, 44);
+            add(replayBtn, gbc);
+            gbc.gridy++;
             backBtn = createTextButton("Back to Main", SMALL_FONT, 180, 44);
             add(backBtn, gbc);
 
+            replayBtn.addActionListener(_ -> replayLastGame());
+
             b3.addActionListener(_ -> startTic(3));
             b4.addActionListener(_ -> startTic(4));
             b5.addActionListener(_ -> startTic(5));
@@ -643,7 +1031,25 @@ public class MindGameApp extends JFrame {
 
         void startTic(int size) {
             boolean vsAI = modeCombo.getSelectedIndex() == 1;
-            new TicTacToePanel(size, vsAI);
+            boolean online = modeCombo.getSelectedIndex() == 2;
+            new TicTacToePanel(size, vsAI, null, online);
+        }
+
+        // the archive is scanned on the I/O thread; the replay window opens back on the EDT
+        void replayLastGame() {
+            BACKGROUND_IO.execute(() -> {
+                GameRecord last = null;
+                try {
+                    last = GameArchive.last();
+                } catch (IOException e) {
+                    System.err.println("[games] " + e);
+                }
+                GameRecord game = last;
+                SwingUtilities.invokeLater(() -> {
+                    if (game == null) JOptionPane.showMessageDialog(this, "No recorded games yet.");
+                    else new TicTacToePanel(game);
+                });
+            });
         }
     }
 
@@ -651,17 +1057,40 @@ public class MindGameApp extends JFrame {
     private class TicTacToePanel extends JPanel {
         private int size;
         private JButton[][] cells;
-        private char[][] board;
+        private final TicTacToeEngine engine = new TicTacToeEngine(); // same rules as the server and replayer
         private char currentPlayer = 'X';
         private boolean vsAI;
+        private boolean gameOver;
         private Random rand = new Random();
+        private byte[] moves;          // cells played this game, row * size + col
+        private int moveCount;
+        private GameRecord replay;     // non-null when stepping through a recorded game
+        private int replayPos;
+        private boolean online;        // moves go through the multiplayer server
+        private volatile GameClient net;
+        private volatile boolean closed;
+        private char mySeat;
+        private JLabel title;
+        private String snapshotName = SessionSnapshot.newTicName(); // this window's resumable state
 
         TicTacToePanel(int size, boolean vsAI) {
+            this(size, vsAI, null, false);
+        }
+
+        // read-only viewer that steps through a recorded game
+        TicTacToePanel(GameRecord record) {
+            this(record.size, record.vsAI, record, false);
+        }
+
+        private TicTacToePanel(int size, boolean vsAI, GameRecord replay, boolean online) {
             this.size = size;
             this.vsAI = vsAI;
+            this.replay = replay;
+            this.online = online;
+            this.moves = new byte[size * size];
             setBackground(ROYAL_BLUE);
             setLayout(new BorderLayout());
-            JLabel title = new JLabel("Tic Tac Toe - " + size + " x " + size, SwingConstants.CENTER);
+            title = new JLabel((replay != null ? "Replay - " : "Tic Tac Toe - ") + size + " x " + size, SwingConstants.CENTER);
             title.setFont(LARGE_FONT);
             title.setForeground(ROYAL_GOLD);
             title.setBorder(new EmptyBorder(12,12,12,12));
@@ -671,7 +1100,7 @@ public class MindGameApp extends JFrame {
             gridPanel.setBackground(ROYAL_BLUE);
             gridPanel.setBorder(new EmptyBorder(30,30,30,30));
             cells = new JButton[size][size];
-            board = new char[size][size];
+            engine.reset(size);
             int fontSize = Math.max(28, 72 - size * 8);
 
             for (int i = 0; i < size; i++) {
@@ -684,7 +1113,7 @@ public class MindGameApp extends JFrame {
                     b.addActionListener(_ -> makeMove(r, c));
                     cells[i][j] = b;
                     gridPanel.add(b);
-                    board[i][j] = ' ';
+                    if (replay != null) b.setEnabled(false);
                 }
             }
 
@@ -708,7 +1137,16 @@ public class MindGameApp extends JFrame {
     }
 });
 
-            bottom.add(resetBtn);
+            if (replay != null) {
+                JButton prevBtn = createTextButton("< Step", SMALL_FONT, 120, 40);
+                JButton nextBtn = createTextButton("Step >", SMALL_FONT, 120, 40);
+                prevBtn.addActionListener(_ -> showReplay(replayPos - 1));
+                nextBtn.addActionListener(_ -> showReplay(replayPos + 1));
+                bottom.add(prevBtn);
+                bottom.add(nextBtn);
+            } else {
+                bottom.add(resetBtn);
+            }
             bottom.add(backBtn);
 
             add(gridPanel, BorderLayout.CENTER);
@@ -718,27 +1156,215 @@ public class MindGameApp extends JFrame {
             JFrame gameFrame = new JFrame("Tic Tac Toe - Game");
             gameFrame.setExtendedState(JFrame.MAXIMIZED_BOTH);
             gameFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            gameFrame.addWindowListener(new java.awt.event.WindowAdapter() {
+                public void windowClosed(java.awt.event.WindowEvent evt) {
+                    if (!gameOver) endGame("abandoned");
+                    closed = true;
+                    if (net != null) net.close();
+                }
+            });
             gameFrame.add(this);
             gameFrame.setVisible(true);
+            if (replay != null) {
+                gameOver = true;
+                showReplay(0);
+            } else if (online) {
+                connect(); // the session starts when the server pairs us
+            } else {
+                sessionStart("Tic Tac Toe", modeName());
+            }
+        }
+
+        // ----- online play: the server owns the game, the board only mirrors its MOVED messages -----
+
+        private void connect() {
+            gameOver = true;
+            lockBoard();
+            String host = GameClient.host();
+            int port = GameClient.port();
+            title.setText("Connecting to " + host + ":" + port + "...");
+            Thread.ofVirtual().start(() -> {
+                try (GameClient c = new GameClient(host, port)) {
+                    net = c;
+                    // windowClosed sets closed before reading net, so one side always sees the other
+                    if (closed) return;
+                    c.joinTic(size, 0);
+                    readServer(c);
+                } catch (IOException e) {
+                    SwingUtilities.invokeLater(() -> {
+                        if (closed) return;
+                        if (!gameOver) endGame("disconnected");
+                        lockBoard();
+                        title.setText("Offline");
+                        JOptionPane.showMessageDialog(this, "Lost connection to " + host + ":" + port + " (" + e.getMessage() + ")");
+                    });
+                }
+            });
+        }
+
+        private void readServer(GameClient c) throws IOException {
+            while (true) {
+                int type = c.in.read();
+                if (type < 0) throw new EOFException("server closed the connection");
+                switch (type) {
+                    case GameServer.WAITING:
+                        SwingUtilities.invokeLater(() -> title.setText("Waiting for an opponent..."));
+                        break;
+                    case GameServer.START: {
+                        c.in.readUnsignedByte();
+                        char seat = (char) c.in.readUnsignedByte();
+                        SwingUtilities.invokeLater(() -> startOnline(seat));
+                        break;
+                    }
+                    case GameServer.MOVED: {
+                        int cell = c.in.readUnsignedByte();
+                        c.in.readUnsignedByte(); // player, implied by turn order
+                        c.in.readUnsignedByte(); // state, recomputed locally by makeMove
+                        SwingUtilities.invokeLater(() -> makeMove(cell / size, cell % size, beginMove()));
+                        break;
+                    }
+                    case GameServer.OPPONENT_LEFT:
+                        SwingUtilities.invokeLater(this::opponentLeft);
+                        break;
+                    case GameServer.ERROR:
+                        System.err.println("[online] " + c.in.readUTF());
+                        break;
+                    default:
+                        throw new IOException("unexpected message " + type);
+                }
+            }
+        }
+
+        private void startOnline(char seat) {
+            if (closed) return;
+            mySeat = seat;
+            clearBoard();
+            title.setText("Online - " + size + " x " + size + " - you are " + seat);
+        }
+
+        private void opponentLeft() {
+            if (gameOver) return;
+            endGame("opponent left");
+            lockBoard();
+            JOptionPane.showMessageDialog(this, "Your opponent left the game.");
+        }
+
+        private void sendToServer(int cell) {
+            GameClient c = net;
+            if (c == null) return;
+            BACKGROUND_IO.execute(() -> {
+                try {
+                    if (cell < 0) c.joinTic(size, 0);
+                    else c.move(cell);
+                } catch (IOException e) {
+                    c.close(); // the reader thread reports the disconnect
+                }
+            });
+        }
+
+        // redraws the board as it stood after the first pos moves of the recorded game
+        private void showReplay(int pos) {
+            replayPos = Math.max(0, Math.min(pos, replay.moveCount));
+            engine.reset(size);
+            for (int i = 0; i < size; i++)
+                for (int j = 0; j < size; j++)
+                    cells[i][j].setText("");
+            for (int m = 0; m < replayPos; m++) {
+                int cell = replay.moves[m];
+                char p = engine.toMove();
+                engine.play(cell);
+                cells[cell / size][cell % size].setText(String.valueOf(p));
+            }
+        }
+
+        private String modeName() {
+            return size + "x" + size + (vsAI ? " vs Computer" : online ? " online" : " vs Player");
+        }
+
+        private void endGame(String outcome) {
+            gameOver = true;
+            sessionEnd("Tic Tac Toe", modeName(), outcome);
+            // A closed local window keeps its snapshot so the game can be resumed on the next start. It is
+            // archived once, with all its moves, when the resumed game ends.
+            if (!online && outcome.equals("abandoned")) return;
+            if (moveCount > 0) GameArchive.append(new GameRecord(size, vsAI, Arrays.copyOf(moves, moveCount), moveCount));
+            if (!online) SessionSnapshot.delete(snapshotName);
+        }
+
+        private void saveSnapshot() {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + moveCount);
+                DataOutputStream out = SessionSnapshot.begin(bytes, SessionSnapshot.TIC);
+                out.writeByte(size);
+                out.writeBoolean(vsAI);
+                out.writeByte(moveCount);
+                out.write(moves, 0, moveCount);
+                SessionSnapshot.save(snapshotName, bytes.toByteArray());
+            } catch (IOException e) {
+                // in-memory stream; cannot happen
+            }
+        }
+
+        // puts already-validated moves back on the board without re-running the AI
+        void restore(String name, byte[] saved) {
+            snapshotName = name;
+            for (byte b : saved) {
+                int cell = b & 0xFF;
+                engine.play(cell);
+                moves[moveCount++] = (byte) cell;
+                cells[cell / size][cell % size].setText(String.valueOf(currentPlayer));
+                cells[cell / size][cell % size].setEnabled(false);
+                currentPlayer = (currentPlayer == 'X') ? 'O' : 'X';
+            }
+            if (vsAI && currentPlayer == 'O') makeAIMove();
         }
 
         private void makeMove(int r, int c) {
-            if (board[r][c] != ' ') return;
-            board[r][c] = currentPlayer;
+            if (online) {
+                // only propose the move; it is applied when the server echoes it back
+                if (!gameOver && currentPlayer == mySeat && engine.isEmpty(r * size + c)) sendToServer(r * size + c);
+                return;
+            }
+            makeMove(r, c, beginMove());
+        }
+
+        // A MoveEvent spans choosing (for the computer) and applying a move, up to the updated board;
+        // the result dialog and the computer's reply are outside it.
+        private static MoveEvent beginMove() {
+            MoveEvent ev = new MoveEvent();
+            ev.begin();
+            return ev;
+        }
+
+        private void makeMove(int r, int c, MoveEvent ev) {
+            if (!engine.isEmpty(r * size + c)) return;
+            int state = engine.play(r * size + c);
+            moves[moveCount++] = (byte) (r * size + c);
             cells[r][c].setText(String.valueOf(currentPlayer));
             cells[r][c].setEnabled(false);
+            if (ev.isEnabled()) {
+                ev.boardSize = size;
+                ev.player = currentPlayer;
+                ev.commit();
+            }
 
-            if (hasWon(currentPlayer)) {
+            if (state == TicTacToeEngine.WIN) {
+                byte winner = currentPlayer == 'X' ? StatsStore.PLAYER_X : (vsAI ? StatsStore.PLAYER_COMPUTER : StatsStore.PLAYER_O);
+                StatsStore.get().record(StatsStore.TIC_WIN, size, winner, 0, 1);
+                endGame(currentPlayer + " wins");
                 JOptionPane.showMessageDialog(this, "Player " + currentPlayer + " wins!");
                 lockBoard();
                 return;
-            } else if (isFull()) {
+            } else if (state == TicTacToeEngine.DRAW) {
+                StatsStore.get().record(StatsStore.TIC_DRAW, size, StatsStore.PLAYER_YOU, 0, 0);
+                endGame("draw");
                 JOptionPane.showMessageDialog(this, "It's a draw!");
                 lockBoard();
                 return;
             }
 
             currentPlayer = (currentPlayer == 'X') ? 'O' : 'X';
+            if (!online) saveSnapshot();
             if (vsAI && currentPlayer == 'O') makeAIMove();
         }
 
@@ -749,95 +1375,1600 @@ public class MindGameApp extends JFrame {
         }
 
         private void resetBoard() {
+            if (!gameOver) endGame("reset");
+            if (online) {
+                // ask the server for a new opponent; the board clears when START arrives
+                lockBoard();
+                title.setText("Waiting for an opponent...");
+                sendToServer(-1);
+                return;
+            }
+            clearBoard();
+        }
+
+        private void clearBoard() {
+            engine.reset(size);
             for (int i = 0; i < size; i++)
                 for (int j = 0; j < size; j++) {
-                    board[i][j] = ' ';
                     cells[i][j].setText("");
                     cells[i][j].setEnabled(true);
                 }
             currentPlayer = 'X';
+            moveCount = 0;
+            gameOver = false;
+            sessionStart("Tic Tac Toe", modeName());
         }
 
-        private boolean isFull() {
-            for (int i = 0; i < size; i++)
-                for (int j = 0; j < size; j++)
-                    if (board[i][j] == ' ') return false;
-            return true;
+        // AI logic preserved; moves are encoded as row * size + col (-1 = none) so the search allocates nothing
+        private void makeAIMove() {
+            MoveEvent ev = beginMove();
+            long start = System.nanoTime();
+            int mv = engine.chooseMove(rand);
+            ev.ai = true;
+            ev.searchNanos = System.nanoTime() - start;
+            if (mv >= 0) makeMove(mv / size, mv % size, ev);
+        }
+    }
+
+    // ---------- Background I/O (single daemon thread shared by everything that touches disk) ----------
+    private static final ScheduledExecutorService BACKGROUND_IO = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "mindgame-io");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Where statistics and other local data live (-Dmindgame.home overrides ~/.mindgame)
+    private static Path appHome() throws IOException {
+        Path home = Paths.get(System.getProperty("mindgame.home", System.getProperty("user.home") + File.separator + ".mindgame"));
+        Files.createDirectories(home);
+        return home;
+    }
+
+    // ---------- Session Snapshots (~/.mindgame/<name>.snap) ----------
+    // Versioned binary: int magic, byte version, byte kind, then the panel's own fields.
+    // Built on the EDT (a few hundred bytes at most), written on BACKGROUND_IO via temp file + atomic move.
+    // Word Scramble has one snapshot (word.snap); each Tic Tac Toe window has its own (tic-<id>.snap).
+    private static final class SessionSnapshot {
+        static final int WORD = 1, TIC = 2;
+        static final String WORD_NAME = "word";
+        private static final int MAGIC = 0x4D47534E; // "MGSN"
+        private static final int VERSION = 2; // 2: word snapshots carry a word list fingerprint
+        private static final java.util.concurrent.atomic.AtomicInteger ticIds = new java.util.concurrent.atomic.AtomicInteger();
+
+        // unique across runs, so a new window never overwrites a board still waiting to be resumed
+        static String newTicName() {
+            return "tic-" + Long.toString(System.currentTimeMillis(), 36) + "-" + ticIds.incrementAndGet();
         }
 
-        private boolean hasWon(char p) {
-            // Rows
-            for (int i = 0; i < size; i++) {
-                boolean ok = true;
-                for (int j = 0; j < size; j++) if (board[i][j] != p) { ok = false; break; }
-                if (ok) return true;
-            }
-            // Columns
-            for (int j = 0; j < size; j++) {
-                boolean ok = true;
-                for (int i = 0; i < size; i++) if (board[i][j] != p) { ok = false; break; }
-                if (ok) return true;
-            }
-            // Diagonals
-            boolean d1 = true, d2 = true;
-            for (int i = 0; i < size; i++) {
-                if (board[i][i] != p) d1 = false;
-                if (board[i][size - 1 - i] != p) d2 = false;
+        // names of all Tic Tac Toe snapshots on disk
+        static ArrayList<String> ticNames() throws IOException {
+            ArrayList<String> names = new ArrayList<>();
+            try (DirectoryStream<Path> dir = Files.newDirectoryStream(appHome(), "tic-*.snap")) {
+                for (Path p : dir) {
+                    String f = p.getFileName().toString();
+                    names.add(f.substring(0, f.length() - ".snap".length()));
+                }
             }
-            return d1 || d2;
+            Collections.sort(names);
+            return names;
         }
 
-        // AI logic preserved
-        private void makeAIMove() {
-            int[] mv = findWinningMove('O');
-            if (mv == null) mv = findWinningMove('X');
-            if (mv == null && size % 2 == 1) {
-                int mid = size / 2;
-                if (board[mid][mid] == ' ') mv = new int[]{mid, mid};
+        static DataOutputStream begin(ByteArrayOutputStream bytes, int kind) throws IOException {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(kind);
+            return out;
+        }
+
+        static void save(String name, byte[] data) {
+            BACKGROUND_IO.execute(() -> {
+                try {
+                    Path target = path(name);
+                    Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+                    Files.write(tmp, data);
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    System.err.println("[snapshot] save failed: " + e);
+                }
+            });
+        }
+
+        static void delete(String name) {
+            BACKGROUND_IO.execute(() -> {
+                try {
+                    Files.deleteIfExists(path(name));
+                } catch (IOException e) {
+                    System.err.println("[snapshot] delete failed: " + e);
+                }
+            });
+        }
+
+        // Returns a stream positioned after the header, or null when there is nothing to resume.
+        static DataInputStream open(String name, int kind) throws IOException {
+            Path p = path(name);
+            if (!Files.exists(p)) return null;
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(p)));
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION || in.readUnsignedByte() != kind)
+                throw new IOException("unrecognised snapshot " + p);
+            return in;
+        }
+
+        private static Path path(String name) throws IOException {
+            return appHome().resolve(name + ".snap");
+        }
+    }
+
+    // ---------- Statistics Store ----------
+    // Append-only log of fixed 20-byte records behind a memory-mapped FileChannel:
+    //   header:  int magic, int version, long recordCount
+    //   record:  long time, int count, int score, byte kind, byte level, byte player, byte attempts
+    // Per kind/level/player totals are kept in memory so leaderboard queries never scan the log.
+    // Compaction folds everything but the most recent history into summary records (kind | SUMMARY).
+    // All writes happen on BACKGROUND_IO; queries synchronize on the store, and the UI runs them there too.
+    private static final class StatsStore {
+        static final byte WORD_SOLVED = 0, WORD_FAILED = 1, TIC_WIN = 2, TIC_DRAW = 3;
+        static final byte PLAYER_YOU = 0, PLAYER_X = 1, PLAYER_O = 2, PLAYER_COMPUTER = 3;
+        private static final String[] KIND_NAMES = {"Word solved", "Word failed", "Tic Tac Toe win", "Tic Tac Toe draw"};
+        private static final String[] PLAYER_NAMES = {"You", "Player X", "Player O", "Computer"};
+        private static final int KINDS = 4, LEVELS = 8, PLAYERS = 4;
+        private static final byte SUMMARY = (byte) 0x80;
+
+        private static final int MAGIC = 0x4D475354; // "MGST"
+        private static final int VERSION = 1;
+        private static final int HEADER = 16, RECORD = 20;
+        private static final int INITIAL_MAP = 1 << 20;
+        private static final int FLUSH_EVERY = 512;                                     // records per fsync batch
+        private static final long FLUSH_MILLIS = 1000;                                  // max time between fsyncs
+        private static final int HISTORY_KEEP = 10_000;                                 // raw records kept by compaction
+        // a compacted log still holds HISTORY_KEEP records, so a lower threshold would compact on every append
+        private static final long COMPACT_AT = Math.max(2L * HISTORY_KEEP, Long.getLong("mindgame.stats.compactAt", 4_000_000));
+
+        private static final StatsStore INSTANCE = new StatsStore();
+
+        private Path path;
+        private FileChannel channel;
+        private MappedByteBuffer map;
+        private long count;
+        private int unflushed;
+        private final long[] totals = new long[KINDS * LEVELS * PLAYERS];
+        private final long[] scores = new long[KINDS * LEVELS * PLAYERS];
+
+        static StatsStore get() { return INSTANCE; }
+
+        // Opens (or creates) the log in the background and schedules the periodic fsync.
+        static void start() {
+            BACKGROUND_IO.execute(() -> {
+                try {
+                    INSTANCE.open(appHome().resolve("stats.log"));
+                    BACKGROUND_IO.scheduleWithFixedDelay(INSTANCE::flush, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (IOException e) {
+                    System.err.println("[stats] disabled: " + e);
+                }
+            });
+        }
+
+        // Cheap enough for the EDT: the append itself runs on BACKGROUND_IO.
+        void record(byte kind, int level, byte player, int attempts, int score) {
+            long now = System.currentTimeMillis();
+            BACKGROUND_IO.execute(() -> append(now, 1, score, kind, level, player, attempts));
+        }
+
+        private synchronized void open(Path p) throws IOException {
+            path = p;
+            channel = FileChannel.open(p, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_MAP));
+            if (size == 0) {
+                map.putInt(0, MAGIC).putInt(4, VERSION).putLong(8, 0);
+                count = 0;
+                return;
+            }
+            if (size < HEADER || map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                channel.close();
+                map = null;
+                Files.move(p, p.resolveSibling(p.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+                open(p);
+                return;
+            }
+            // trust the header, but never past the last whole record on disk
+            count = Math.min(map.getLong(8), (size - HEADER) / RECORD);
+            Arrays.fill(totals, 0);
+            Arrays.fill(scores, 0);
+            for (long i = 0; i < count; i++) {
+                int at = (int) (HEADER + i * RECORD);
+                aggregate(map.get(at + 16), map.get(at + 17), map.get(at + 18), map.getInt(at + 8), map.getInt(at + 12));
             }
-            if (mv == null) mv = findStrategicMove();
-            if (mv == null) mv = findAnyMove();
-            if (mv != null) makeMove(mv[0], mv[1]);
         }
 
-        private int[] findWinningMove(char p) {
-            for (int i = 0; i < size; i++)
-                for (int j = 0; j < size; j++)
-                    if (board[i][j] == ' ') {
-                        board[i][j] = p;
-                        boolean win = hasWon(p);
-                        board[i][j] = ' ';
-                        if (win) return new int[]{i, j};
+        private synchronized void append(long time, int n, int score, byte kind, int level, byte player, int attempts) {
+            if (map == null) return;
+            try {
+                long end = HEADER + (count + 1) * RECORD;
+                if (end > map.capacity()) {
+                    long cap = Math.min(Integer.MAX_VALUE, Math.max(end, (long) map.capacity() * 2));
+                    if (end > cap) throw new IOException("statistics log is full");
+                    map = channel.map(FileChannel.MapMode.READ_WRITE, 0, cap);
+                }
+                int at = (int) (HEADER + count * RECORD);
+                map.putLong(at, time).putInt(at + 8, n).putInt(at + 12, score)
+                        .put(at + 16, kind).put(at + 17, (byte) level).put(at + 18, player).put(at + 19, (byte) attempts);
+                map.putLong(8, ++count);
+                aggregate(kind, (byte) level, player, n, score);
+                if (++unflushed >= FLUSH_EVERY) flush();
+                if (count >= COMPACT_AT) compact();
+            } catch (IOException e) {
+                System.err.println("[stats] append failed: " + e);
+            }
+        }
+
+        private void aggregate(byte kind, byte level, byte player, int n, int score) {
+            int k = kind & ~SUMMARY;
+            if (k >= KINDS || level < 0 || level >= LEVELS || player < 0 || player >= PLAYERS) return;
+            int slot = slot(k, level, player);
+            totals[slot] += n;
+            scores[slot] += score;
+        }
+
+        private static int slot(int kind, int level, int player) {
+            return (kind * LEVELS + level) * PLAYERS + player;
+        }
+
+        synchronized void flush() {
+            if (map == null || unflushed == 0) return;
+            map.force();
+            unflushed = 0;
+        }
+
+        // Rewrites the log in place, inside the current mapping, as one summary record per non-empty slot
+        // followed by the newest raw records. The result is never longer than the log, and the kept records
+        // only move towards the front, so an ascending copy is safe. The header count is updated after the
+        // records are forced, so a crash before that leaves the old count over partly rewritten records.
+        // Nothing is renamed: a file that is still mapped cannot be replaced on Windows.
+        private void compact() {
+            long keepFrom = Math.max(0, count - HISTORY_KEEP);
+            long[] oldTotals = totals.clone(), oldScores = scores.clone();
+            for (long i = keepFrom; i < count; i++) {
+                int at = (int) (HEADER + i * RECORD);
+                int k = map.get(at + 16) & ~SUMMARY, level = map.get(at + 17), player = map.get(at + 18);
+                if (k >= KINDS || level < 0 || level >= LEVELS || player < 0 || player >= PLAYERS) continue;
+                oldTotals[slot(k, level, player)] -= map.getInt(at + 8);
+                oldScores[slot(k, level, player)] -= map.getInt(at + 12);
+            }
+            long now = System.currentTimeMillis();
+            long written = 0;
+            for (int k = 0; k < KINDS; k++)
+                for (int level = 0; level < LEVELS; level++)
+                    for (int player = 0; player < PLAYERS; player++) {
+                        int s = slot(k, level, player);
+                        if (oldTotals[s] == 0) continue;
+                        int at = (int) (HEADER + written++ * RECORD);
+                        map.putLong(at, now).putInt(at + 8, (int) Math.min(Integer.MAX_VALUE, oldTotals[s]))
+                                .putInt(at + 12, (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, oldScores[s])))
+                                .put(at + 16, (byte) (k | SUMMARY)).put(at + 17, (byte) level).put(at + 18, (byte) player).put(at + 19, (byte) 0);
                     }
-            return null;
+            // summaries take at most KINDS * LEVELS * PLAYERS slots, always fewer than keepFrom
+            for (long i = keepFrom; i < count; i++) {
+                int from = (int) (HEADER + i * RECORD), to = (int) (HEADER + written++ * RECORD);
+                map.putLong(to, map.getLong(from)).putLong(to + 8, map.getLong(from + 8)).putInt(to + 16, map.getInt(from + 16));
+            }
+            map.force();
+            map.putLong(8, written);
+            map.force();
+            count = written;
+            unflushed = 0;
+            AppMetrics.add("stats.compactions", 1);
+        }
+
+        // ----- queries (served from the in-memory totals / the tail of the log) -----
+
+        synchronized long total(byte kind, int level, byte player) {
+            return totals[slot(kind, level, player)];
+        }
+
+        synchronized long totalForPlayer(byte kind, byte player) {
+            long sum = 0;
+            for (int level = 0; level < LEVELS; level++) sum += totals[slot(kind, level, player)];
+            return sum;
+        }
+
+        synchronized long scoreForPlayer(byte kind, byte player) {
+            long sum = 0;
+            for (int level = 0; level < LEVELS; level++) sum += scores[slot(kind, level, player)];
+            return sum;
+        }
+
+        // Players ordered by Tic Tac Toe wins, plus word totals per level.
+        synchronized String leaderboard() {
+            StringBuilder sb = new StringBuilder("Tic Tac Toe wins\n");
+            Byte[] order = {PLAYER_X, PLAYER_O, PLAYER_COMPUTER};
+            Arrays.sort(order, (a, b) -> Long.compare(totalForPlayer(TIC_WIN, b), totalForPlayer(TIC_WIN, a)));
+            for (byte p : order) sb.append("  ").append(PLAYER_NAMES[p]).append(": ").append(totalForPlayer(TIC_WIN, p)).append('\n');
+            sb.append("  Draws: ").append(totalForPlayer(TIC_DRAW, PLAYER_YOU)).append('\n');
+            sb.append("Word Scramble\n");
+            for (int level = 0; level < WordBank.LEVELS.length; level++) {
+                sb.append("  ").append(WordBank.LEVELS[level]).append(": ")
+                        .append(total(WORD_SOLVED, level, PLAYER_YOU)).append(" solved, ")
+                        .append(total(WORD_FAILED, level, PLAYER_YOU)).append(" missed\n");
+            }
+            sb.append("  Score: ").append(scoreForPlayer(WORD_SOLVED, PLAYER_YOU)).append('\n');
+            return sb.toString();
+        }
+
+        // The newest raw records, newest first (summary records are skipped).
+        synchronized ArrayList<String> history(int limit) {
+            ArrayList<String> out = new ArrayList<>();
+            if (map == null) return out;
+            for (long i = count - 1; i >= 0 && out.size() < limit; i--) {
+                int at = (int) (HEADER + i * RECORD);
+                byte kind = map.get(at + 16);
+                if ((kind & SUMMARY) != 0 || kind >= KINDS) continue;
+                int level = map.get(at + 17), player = map.get(at + 18);
+                if (player < 0 || player >= PLAYERS) continue;
+                String where = kind <= WORD_FAILED
+                        ? (level >= 0 && level < WordBank.LEVELS.length ? WordBank.LEVELS[level] : "?")
+                        : level + "x" + level;
+                String who = kind == TIC_DRAW ? "" : " - " + PLAYER_NAMES[player];
+                out.add(String.format("%tF %<tR  %s (%s)%s", map.getLong(at), KIND_NAMES[kind], where, who));
+            }
+            return out;
+        }
+
+        static int wordLevel(String level) {
+            int i = Arrays.asList(WordBank.LEVELS).indexOf(level);
+            return Math.max(i, 0);
+        }
+    }
+
+    // ---------- Tic Tac Toe Rules Engine ----------
+    // The one rule set for the panel, the server and the replayer: X moves first, a full row, column
+    // or main diagonal wins. Incremental: each move updates per-line counters instead of rescanning the board.
+    private static final class TicTacToeEngine {
+        static final int ILLEGAL = -1, ONGOING = 0, WIN = 1, DRAW = 2;
+        private int size;
+        private int moves;
+        private char winner;
+        private byte[] cells = new byte[0];   // 0 empty, 1 X, 2 O
+        private int[] rows = new int[0];      // [player * size + row]
+        private int[] cols = new int[0];
+        private final int[] diag = new int[2];
+        private final int[] anti = new int[2];
+
+        void reset(int boardSize) {
+            if (boardSize != size) {
+                size = boardSize;
+                cells = new byte[size * size];
+                rows = new int[2 * size];
+                cols = new int[2 * size];
+            } else {
+                Arrays.fill(cells, (byte) 0);
+                Arrays.fill(rows, 0);
+                Arrays.fill(cols, 0);
+            }
+            diag[0] = diag[1] = anti[0] = anti[1] = 0;
+            moves = 0;
+            winner = 0;
         }
 
-        private int[] findStrategicMove() {
-            ArrayList<int[]> corners = new ArrayList<>();
-            corners.add(new int[]{0,0}); corners.add(new int[]{0,size-1});
-            corners.add(new int[]{size-1,0}); corners.add(new int[]{size-1,size-1});
-            Collections.shuffle(corners);
-            for (int[] c : corners) if (board[c[0]][c[1]] == ' ') return c;
-            ArrayList<int[]> near = new ArrayList<>();
+        char toMove() { return (moves & 1) == 0 ? 'X' : 'O'; }
+        boolean isEmpty(int cell) { return cells[cell] == 0; }
+        char winner() { return winner; }
+        int moveCount() { return moves; }
+        boolean isOver() { return winner != 0 || moves == size * size; }
+
+        int play(int cell) {
+            if (winner != 0 || cell < 0 || cell >= size * size || cells[cell] != 0) return ILLEGAL;
+            int p = moves & 1;
+            cells[cell] = (byte) (p + 1);
+            moves++;
+            int r = cell / size, c = cell % size;
+            boolean won = ++rows[p * size + r] == size;
+            if (++cols[p * size + c] == size) won = true;
+            if (r == c && ++diag[p] == size) won = true;
+            if (r + c == size - 1 && ++anti[p] == size) won = true;
+            if (won) {
+                winner = p == 0 ? 'X' : 'O';
+                return WIN;
+            }
+            return moves == size * size ? DRAW : ONGOING;
+        }
+
+        // True if p taking the (empty) cell would complete a line; used by the AI to find wins and blocks.
+        boolean wouldWin(int cell, char p) {
+            int pi = p == 'X' ? 0 : 1, r = cell / size, c = cell % size, need = size - 1;
+            return rows[pi * size + r] == need || cols[pi * size + c] == need
+                    || (r == c && diag[pi] == need) || (r + c == size - 1 && anti[pi] == need);
+        }
+
+        // Computer move for the side to move, or -1 when the board is full: win, block, centre,
+        // a random corner, a random cell near the centre, then any cell. Allocates nothing.
+        int chooseMove(java.util.random.RandomGenerator rnd) {
+            char me = toMove(), them = me == 'X' ? 'O' : 'X';
+            int mv = findWinningMove(me);
+            if (mv < 0) mv = findWinningMove(them);
+            if (mv < 0 && size % 2 == 1) {
+                int mid = size / 2;
+                if (isEmpty(mid * size + mid)) mv = mid * size + mid;
+            }
+            if (mv < 0) mv = findStrategicMove(rnd);
+            if (mv < 0) mv = findAnyMove(rnd);
+            return mv;
+        }
+
+        private int findWinningMove(char p) {
+            for (int cell = 0; cell < size * size; cell++)
+                if (isEmpty(cell) && wouldWin(cell, p)) return cell;
+            return -1;
+        }
+
+        private int findStrategicMove(java.util.random.RandomGenerator rnd) {
+            // a random empty corner (same distribution as shuffling the corner list)
+            int last = size - 1;
+            int emptyCorners = 0;
+            for (int k = 0; k < 4; k++) if (isEmpty((k >> 1) * last * size + (k & 1) * last)) emptyCorners++;
+            if (emptyCorners > 0) {
+                int pick = rnd.nextInt(emptyCorners);
+                for (int k = 0; k < 4; k++) {
+                    int r = (k >> 1) * last, c = (k & 1) * last;
+                    if (isEmpty(r * size + c) && pick-- == 0) return r * size + c;
+                }
+            }
+            // otherwise a random empty cell near the centre
             int mid = size / 2;
-            for (int i = 0; i < size; i++) for (int j = 0; j < size; j++) {
-                int dist = Math.abs(i-mid) + Math.abs(j-mid);
-                if (dist <= mid && board[i][j] == ' ') near.add(new int[]{i,j});
+            int near = 0;
+            for (int i = 0; i < size; i++) for (int j = 0; j < size; j++)
+                if (isNearCentre(i, j, mid) && isEmpty(i * size + j)) near++;
+            if (near == 0) return -1;
+            int pick = rnd.nextInt(near);
+            for (int i = 0; i < size; i++) for (int j = 0; j < size; j++)
+                if (isNearCentre(i, j, mid) && isEmpty(i * size + j) && pick-- == 0) return i * size + j;
+            return -1;
+        }
+
+        private static boolean isNearCentre(int i, int j, int mid) {
+            return Math.abs(i - mid) + Math.abs(j - mid) <= mid;
+        }
+
+        private int findAnyMove(java.util.random.RandomGenerator rnd) {
+            int empties = 0;
+            for (int cell = 0; cell < size * size; cell++) if (isEmpty(cell)) empties++;
+            if (empties == 0) return -1;
+            int pick = rnd.nextInt(empties);
+            for (int cell = 0; cell < size * size; cell++) if (isEmpty(cell) && pick-- == 0) return cell;
+            return -1;
+        }
+    }
+
+    // ---------- Game Records ----------
+    // One game = header byte (version << 5 | vsAI << 4 | size), move count byte, then one byte per move (row * size + col).
+    private static final class GameRecord {
+        static final int VERSION = 1;
+        final int size;
+        final boolean vsAI;
+        final byte[] moves;
+        final int moveCount;
+
+        GameRecord(int size, boolean vsAI, byte[] moves, int moveCount) {
+            this.size = size;
+            this.vsAI = vsAI;
+            this.moves = moves;
+            this.moveCount = moveCount;
+        }
+
+        static int header(int size, boolean vsAI) {
+            return VERSION << 5 | (vsAI ? 0x10 : 0) | size;
+        }
+    }
+
+    // Receives each game read from an archive; the moves buffer is reused between calls.
+    private interface GameVisitor {
+        void game(int size, boolean vsAI, byte[] moves, int moveCount) throws IOException;
+    }
+
+    // ---------- Game Archive (~/.mindgame/games.bin, plus bulk import/export/replay) ----------
+    private static final class GameArchive {
+        private static DataOutputStream out; // local archive, opened lazily on BACKGROUND_IO
+
+        static Path localPath() throws IOException {
+            return appHome().resolve("games.bin");
+        }
+
+        // Called on the EDT when a game ends; the write happens on BACKGROUND_IO.
+        static void append(GameRecord g) {
+            BACKGROUND_IO.execute(() -> {
+                try {
+                    if (out == null) {
+                        out = new DataOutputStream(new BufferedOutputStream(
+                                Files.newOutputStream(localPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+                    }
+                    write(out, g.size, g.vsAI, g.moves, g.moveCount);
+                    out.flush();
+                } catch (IOException e) {
+                    System.err.println("[games] append failed: " + e);
+                }
+            });
+        }
+
+        static void write(DataOutputStream o, int size, boolean vsAI, byte[] moves, int moveCount) throws IOException {
+            o.write(GameRecord.header(size, vsAI));
+            o.write(moveCount);
+            o.write(moves, 0, moveCount);
+        }
+
+        // Streams every game in the archive through the visitor; returns the number of games read.
+        static long forEach(InputStream in, GameVisitor visitor) throws IOException {
+            byte[] moves = new byte[255];
+            long games = 0;
+            int header;
+            while ((header = in.read()) >= 0) {
+                int size = header & 0x0F, count = in.read();
+                if (header >>> 5 != GameRecord.VERSION || size < 3 || count < 0 || count > size * size)
+                    throw new IOException("corrupt game archive at game " + games);
+                if (in.readNBytes(moves, 0, count) != count) throw new EOFException("truncated game " + games);
+                visitor.game(size, (header & 0x10) != 0, moves, count);
+                games++;
+            }
+            return games;
+        }
+
+        static GameRecord last() throws IOException {
+            Path p = localPath();
+            if (!Files.exists(p)) return null;
+            GameRecord[] last = new GameRecord[1];
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(p), 1 << 16)) {
+                forEach(in, (size, vsAI, moves, count) -> last[0] = new GameRecord(size, vsAI, Arrays.copyOf(moves, count), count));
+            }
+            return last[0];
+        }
+
+        // the CLI reports a missing archive by name instead of a bare NoSuchFileException path
+        private static Path existing(Path archive) throws IOException {
+            if (!Files.exists(archive)) throw new IOException("no game archive at " + archive);
+            return archive;
+        }
+
+        // Exporting onto the local archive would truncate it before it is read; importing it would append to
+        // the file being read and never reach EOF.
+        private static void notLocal(Path other) throws IOException {
+            Path local = localPath();
+            if (Files.exists(other) && Files.exists(local) && Files.isSameFile(other, local))
+                throw new IOException(other + " is the local game archive");
+        }
+
+        // Bulk copy of the local archive to another file, written to a temp file and moved into place
+        // so a failed export never leaves the target empty or half-written.
+        static long exportTo(Path target) throws IOException {
+            notLocal(target);
+            Path tmp = target.toAbsolutePath().resolveSibling(target.getFileName() + ".tmp");
+            long games;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(existing(localPath())), 1 << 16);
+                 DataOutputStream o = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                games = forEach(in, (size, vsAI, moves, count) -> write(o, size, vsAI, moves, count));
+            } catch (IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return games;
+        }
+
+        // Appends every legal game from another archive to the local one; returns games imported.
+        static long importFrom(Path source) throws IOException {
+            notLocal(source);
+            TicTacToeEngine engine = new TicTacToeEngine();
+            long[] imported = new long[1];
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(existing(source)), 1 << 16);
+                 DataOutputStream o = new DataOutputStream(new BufferedOutputStream(
+                         Files.newOutputStream(localPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND), 1 << 16))) {
+                forEach(in, (size, vsAI, moves, count) -> {
+                    if (validate(engine, size, moves, count) == TicTacToeEngine.ILLEGAL) return;
+                    write(o, size, vsAI, moves, count);
+                    imported[0]++;
+                });
+            }
+            return imported[0];
+        }
+
+        // Replays one game; returns the final engine state or ILLEGAL.
+        static int validate(TicTacToeEngine engine, int size, byte[] moves, int count) {
+            engine.reset(size);
+            int state = TicTacToeEngine.ONGOING;
+            for (int m = 0; m < count; m++) {
+                state = engine.play(moves[m] & 0xFF);
+                if (state == TicTacToeEngine.ILLEGAL) return state;
+            }
+            return state;
+        }
+
+        // Headless re-validation of a whole archive, printing totals and throughput.
+        static void replay(Path source) throws IOException {
+            TicTacToeEngine engine = new TicTacToeEngine();
+            long[] results = new long[4]; // illegal, unfinished, won, drawn
+            long start = System.nanoTime();
+            long games;
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(existing(source)), 1 << 16)) {
+                games = forEach(in, (size, vsAI, moves, count) -> results[validate(engine, size, moves, count) + 1]++);
+            }
+            double secs = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            System.out.printf("%d games (%d won, %d drawn, %d unfinished, %d illegal) in %.3f s - %.0f games/s%n",
+                    games, results[2], results[3], results[1], results[0], secs, games / secs);
+        }
+    }
+
+    // ---------- Multiplayer Server ----------
+    // One virtual thread per connection, blocking DataInput/DataOutput over TCP. Messages are a type byte
+    // followed by fixed fields (strings as modified UTF-8). Rules run here with TicTacToeEngine / WordBank.
+    private static final class GameServer {
+        // client -> server
+        static final int JOIN_TIC = 1;      // byte size, int roomId (0 = match with anyone)
+        static final int MOVE = 2;          // byte cell (row * size + col)
+        static final int JOIN_WORD = 3;     // byte level (0 Easy, 1 Medium, 2 Hard)
+        static final int GUESS = 4;         // utf guess
+        // server -> client
+        static final int WAITING = 10;      // waiting for an opponent
+        static final int START = 11;        // byte size, byte seat ('X' or 'O')
+        static final int MOVED = 12;        // byte cell, byte player, byte state (TicTacToeEngine.ONGOING/WIN/DRAW)
+        static final int OPPONENT_LEFT = 13;
+        static final int WORD = 14;         // utf scrambled, byte attemptsLeft, byte round
+        static final int GUESS_RESULT = 15; // boolean correct, byte attemptsLeft, utf hint (or the answer once the word is over)
+        static final int SESSION_OVER = 16;
+        static final int ERROR = 17;        // utf message
+
+        static final int DEFAULT_PORT = 7777;
+        private static final int MAX_ROUNDS = 10, ATTEMPTS = 4; // same as WordPanel
+
+        private final ServerSocket server;
+        private final ConcurrentHashMap<Long, TicRoom> ticRooms = new ConcurrentHashMap<>();
+
+        GameServer(int port) throws IOException {
+            server = new ServerSocket();
+            server.setReuseAddress(true);
+            server.bind(new InetSocketAddress(port), 4096);
+        }
+
+        int port() { return server.getLocalPort(); }
+
+        void serve() throws IOException {
+            while (!server.isClosed()) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (IOException e) {
+                    if (server.isClosed()) break;
+                    // typically out of file descriptors; back off instead of dying
+                    AppMetrics.add("server.acceptErrors", 1);
+                    System.err.println("[server] accept failed: " + e.getMessage());
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException ie) {
+                        break;
+                    }
+                    continue;
+                }
+                Thread.ofVirtual().start(() -> handle(socket));
+            }
+        }
+
+        void startInBackground() {
+            Thread.ofPlatform().daemon().name("game-server").start(() -> {
+                try {
+                    serve();
+                } catch (IOException e) {
+                    if (!server.isClosed()) System.err.println("[server] " + e);
+                }
+            });
+        }
+
+        void close() throws IOException { server.close(); }
+
+        private static final class TicRoom {
+            final long key;
+            final TicTacToeEngine engine = new TicTacToeEngine();
+            Conn x, o;
+            boolean over;
+
+            TicRoom(long key) {
+                this.key = key;
+            }
+        }
+
+        private static final class Conn {
+            final DataInputStream in;
+            final DataOutputStream out;
+            volatile TicRoom room;
+            char seat;
+            // word session (only touched by this connection's thread)
+            final Random rnd = new Random();
+            final char[] scrambleBuf = new char[WordBank.LONGEST];
+            ArrayList<WordData> words;
+            WordData word;
+            int attemptsLeft, round;
+
+            Conn(Socket socket) throws IOException {
+                socket.setTcpNoDelay(true);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            }
+
+            synchronized void send(int type) throws IOException {
+                out.write(type);
+                out.flush();
+            }
+
+            synchronized void sendStart(int size, char seat) throws IOException {
+                out.write(START);
+                out.write(size);
+                out.write(seat);
+                out.flush();
+            }
+
+            synchronized void sendMoved(int cell, char player, int state) throws IOException {
+                out.write(MOVED);
+                out.write(cell);
+                out.write(player);
+                out.write(state);
+                out.flush();
+            }
+
+            synchronized void sendWord(String scrambled, int attemptsLeft, int round) throws IOException {
+                out.write(WORD);
+                out.writeUTF(scrambled);
+                out.write(attemptsLeft);
+                out.write(round);
+                out.flush();
+            }
+
+            synchronized void sendGuessResult(boolean correct, int attemptsLeft, String text) throws IOException {
+                out.write(GUESS_RESULT);
+                out.writeBoolean(correct);
+                out.write(attemptsLeft);
+                out.writeUTF(text);
+                out.flush();
+            }
+
+            synchronized void sendError(String message) throws IOException {
+                out.write(ERROR);
+                out.writeUTF(message);
+                out.flush();
+            }
+        }
+
+        private void handle(Socket socket) {
+            AppMetrics.add("server.connections", 1);
+            Conn c = null;
+            try {
+                c = new Conn(socket);
+                while (true) {
+                    int type = c.in.read();
+                    if (type < 0) break;
+                    switch (type) {
+                        case JOIN_TIC:
+                            joinTic(c, c.in.readUnsignedByte(), c.in.readInt());
+                            break;
+                        case MOVE:
+                            move(c, c.in.readUnsignedByte());
+                            break;
+                        case JOIN_WORD:
+                            startWords(c, c.in.readUnsignedByte());
+                            break;
+                        case GUESS:
+                            guess(c, c.in.readUTF());
+                            break;
+                        default:
+                            throw new IOException("unknown message " + type);
+                    }
+                }
+            } catch (IOException e) {
+                // client went away or sent garbage; either way the connection is done
+            } finally {
+                if (c != null) leaveRoom(c);
+                try {
+                    socket.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private void joinTic(Conn c, int size, int roomId) throws IOException {
+            if (size < 3 || size > 15) {
+                c.sendError("board size must be 3..15");
+                return;
+            }
+            leaveRoom(c);
+            long key = (long) roomId << 4 | size;
+            TicRoom room = ticRooms.compute(key, (k, r) -> {
+                if (r == null || r.o != null) {
+                    r = new TicRoom(k);
+                    r.engine.reset(size);
+                    r.x = c;
+                    c.seat = 'X';
+                } else {
+                    r.o = c;
+                    c.seat = 'O';
+                }
+                c.room = r;
+                return r;
+            });
+            if (room.o != c) {
+                c.send(WAITING);
+                return;
+            }
+            synchronized (room) {
+                if (!room.over) {
+                    room.x.sendStart(size, 'X');
+                    room.o.sendStart(size, 'O');
+                    return;
+                }
+            }
+            // X left while we were being seated: drop the dead room and queue for a fresh one
+            c.room = null;
+            joinTic(c, size, roomId);
+        }
+
+        private void move(Conn c, int cell) throws IOException {
+            TicRoom room = c.room;
+            if (room == null) {
+                c.sendError("not in a game");
+                return;
+            }
+            synchronized (room) {
+                if (room.o == null || room.over) {
+                    c.sendError("game is not running");
+                    return;
+                }
+                if (room.engine.toMove() != c.seat) {
+                    c.sendError("not your turn");
+                    return;
+                }
+                int state = room.engine.play(cell);
+                if (state == TicTacToeEngine.ILLEGAL) {
+                    c.sendError("illegal move");
+                    return;
+                }
+                AppMetrics.add("server.moves", 1);
+                room.x.sendMoved(cell, c.seat, state);
+                room.o.sendMoved(cell, c.seat, state);
+                if (state != TicTacToeEngine.ONGOING) closeRoom(room);
+            }
+        }
+
+        private void leaveRoom(Conn c) {
+            TicRoom room = c.room;
+            if (room == null) return;
+            synchronized (room) {
+                if (!room.over) {
+                    Conn other = room.x == c ? room.o : room.x;
+                    if (other != null) {
+                        try {
+                            other.send(OPPONENT_LEFT);
+                        } catch (IOException ignored) {
+                        }
+                    }
+                    closeRoom(room);
+                }
+                c.room = null;
+            }
+        }
+
+        private void closeRoom(TicRoom room) {
+            room.over = true;
+            ticRooms.remove(room.key, room);
+            if (room.x != null && room.x.room == room) room.x.room = null;
+            if (room.o != null && room.o.room == room) room.o.room = null;
+        }
+
+        private void startWords(Conn c, int level) throws IOException {
+            c.words = WordBank.words(WordBank.data(level));
+            c.round = 0;
+            nextWord(c);
+        }
+
+        private void nextWord(Conn c) throws IOException {
+            if (c.words.isEmpty() || c.round >= MAX_ROUNDS) {
+                c.word = null;
+                c.send(SESSION_OVER);
+                return;
+            }
+            c.word = WordBank.pick(c.words, c.rnd);
+            c.attemptsLeft = ATTEMPTS;
+            c.round++;
+            c.sendWord(WordBank.scrambled(c.word.word, c.scrambleBuf, c.rnd), c.attemptsLeft, c.round);
+        }
+
+        private void guess(Conn c, String guess) throws IOException {
+            if (c.word == null) {
+                c.sendError("no word in play");
+                return;
+            }
+            if (WordBank.isCorrect(guess, c.word.word)) {
+                c.sendGuessResult(true, c.attemptsLeft, c.word.word);
+                nextWord(c);
+                return;
+            }
+            c.attemptsLeft--;
+            if (c.attemptsLeft > 0) {
+                c.sendGuessResult(false, c.attemptsLeft, c.word.hints[ATTEMPTS - 1 - c.attemptsLeft]);
+            } else {
+                c.sendGuessResult(false, 0, c.word.word);
+                nextWord(c);
+            }
+        }
+    }
+
+    // ---------- Multiplayer Client (used by the Swing panel and the load generator) ----------
+    private static final class GameClient implements Closeable {
+        final DataInputStream in;
+        private final Socket socket;
+        private final DataOutputStream out;
+
+        GameClient(String host, int port) throws IOException {
+            socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void setTimeout(int millis) throws SocketException {
+            socket.setSoTimeout(millis);
+        }
+
+        static String host() { return System.getProperty("mindgame.server.host", "localhost"); }
+        static int port() { return Integer.getInteger("mindgame.server.port", GameServer.DEFAULT_PORT); }
+
+        synchronized void joinTic(int size, int roomId) throws IOException {
+            out.write(GameServer.JOIN_TIC);
+            out.write(size);
+            out.writeInt(roomId);
+            out.flush();
+        }
+
+        synchronized void move(int cell) throws IOException {
+            out.write(GameServer.MOVE);
+            out.write(cell);
+            out.flush();
+        }
+
+        synchronized void joinWord(int level) throws IOException {
+            out.write(GameServer.JOIN_WORD);
+            out.write(level);
+            out.flush();
+        }
+
+        synchronized void guess(String guess) throws IOException {
+            out.write(GameServer.GUESS);
+            out.writeUTF(guess);
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // ---------- Loopback Load Generator ----------
+    // Pairs of clients share a private room and play random legal 3x3 games; move latency is the
+    // time from sending MOVE until the server's MOVED echo arrives. Alongside each room one client
+    // plays word sessions (a few wrong guesses, then the answer); guess latency is GUESS until
+    // GUESS_RESULT. With the embedded server every room holds six sockets, so large runs need a
+    // matching `ulimit -n`.
+    private static final class LoadTest {
+        static void run(int rooms, int gamesPerRoom, String host, int port) throws IOException {
+            GameServer embedded = null;
+            if (host == null) {
+                embedded = new GameServer(0);
+                embedded.startInBackground();
+                host = "127.0.0.1";
+                port = embedded.port();
+            }
+            String h = host;
+            int p = port;
+            long[][] moveLatencies = new long[rooms * 2][];
+            long[][] guessLatencies = new long[rooms][];
+            java.util.concurrent.atomic.AtomicInteger failed = new java.util.concurrent.atomic.AtomicInteger();
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < rooms * 3; i++) {
+                    int client = i;
+                    clients.execute(() -> {
+                        try {
+                            if (client < rooms * 2) moveLatencies[client] = play(h, p, client / 2 + 1, gamesPerRoom);
+                            else guessLatencies[client - rooms * 2] = playWords(h, p, client % 3, gamesPerRoom);
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                        }
+                    });
+                }
+            }
+            double secs = (System.nanoTime() - start) / 1e9;
+            if (embedded != null) embedded.close();
+
+            long[] moves = merge(moveLatencies);
+            long[] guesses = merge(guessLatencies);
+            System.out.printf("%d rooms, %d clients (%d failed), %d moves and %d guesses in %.2f s - %.0f messages/s%n",
+                    rooms, rooms * 3, failed.get(), moves.length, guesses.length, secs, (moves.length + guesses.length) / secs);
+            printLatency("move", moves);
+            printLatency("guess", guesses);
+        }
+
+        // Flattens per-client latency arrays (count first) into one sorted array.
+        private static long[] merge(long[][] latencies) {
+            int total = 0;
+            for (long[] l : latencies) if (l != null) total += (int) l[0];
+            long[] all = new long[total];
+            int at = 0;
+            for (long[] l : latencies) {
+                if (l == null) continue;
+                System.arraycopy(l, 1, all, at, (int) l[0]);
+                at += (int) l[0];
             }
-            if (!near.isEmpty()) return near.get(rand.nextInt(near.size()));
-            return null;
+            Arrays.sort(all);
+            return all;
+        }
+
+        private static void printLatency(String what, long[] sorted) {
+            if (sorted.length == 0) return;
+            System.out.printf("%s latency us: p50=%d p90=%d p99=%d p99.9=%d max=%d%n", what,
+                    pct(sorted, 0.50), pct(sorted, 0.90), pct(sorted, 0.99), pct(sorted, 0.999), sorted[sorted.length - 1] / 1000);
         }
 
-        private int[] findAnyMove() {
-            ArrayList<int[]> empties = new ArrayList<>();
-            for (int i=0;i<size;i++) for (int j=0;j<size;j++) if (board[i][j] == ' ') empties.add(new int[]{i,j});
-            if (empties.isEmpty()) return null;
-            return empties.get(rand.nextInt(empties.size()));
+        private static long pct(long[] sorted, double q) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.floor(q * sorted.length))] / 1000;
+        }
+
+        // Plays games in the given room; returns this client's move latencies in nanos, count first.
+        private static long[] play(String host, int port, int roomId, int games) throws IOException {
+            long[] lat = new long[1 + games * 5];
+            SplittableRandom rnd = new SplittableRandom(roomId * 31L + Thread.currentThread().threadId());
+            byte[] board = new byte[9];
+            char seat = 0, toMove = 'X';
+            long sentAt = 0;
+            try (GameClient c = new GameClient(host, port)) {
+                c.setTimeout(30_000); // a partner that never connected must not hang the run
+                c.joinTic(3, roomId);
+                int played = 0;
+                while (played < games) {
+                    int type = c.in.read();
+                    if (type < 0 || type == GameServer.OPPONENT_LEFT) throw new EOFException("opponent left");
+                    if (type == GameServer.START) {
+                        c.in.readUnsignedByte();
+                        seat = (char) c.in.readUnsignedByte();
+                        Arrays.fill(board, (byte) 0);
+                        toMove = 'X';
+                    } else if (type == GameServer.MOVED) {
+                        int cell = c.in.readUnsignedByte();
+                        char player = (char) c.in.readUnsignedByte();
+                        int state = c.in.readUnsignedByte();
+                        board[cell] = 1;
+                        if (player == seat) {
+                            if (lat[0] + 1 == lat.length) lat = Arrays.copyOf(lat, lat.length * 2);
+                            lat[(int) ++lat[0]] = System.nanoTime() - sentAt;
+                        }
+                        toMove = player == 'X' ? 'O' : 'X';
+                        if (state != TicTacToeEngine.ONGOING) {
+                            if (++played < games) c.joinTic(3, roomId);
+                            continue;
+                        }
+                    } else if (type == GameServer.ERROR) {
+                        throw new IOException(c.in.readUTF());
+                    } else if (type != GameServer.WAITING) {
+                        throw new IOException("unexpected message " + type);
+                    }
+                    if (type != GameServer.WAITING && toMove == seat) {
+                        int pick = rnd.nextInt(9);
+                        while (board[pick] != 0) pick = (pick + 1) % 9;
+                        sentAt = System.nanoTime();
+                        c.move(pick);
+                    }
+                }
+            }
+            return lat;
+        }
+
+        // Plays word sessions at one level; returns this client's guess latencies in nanos, count first.
+        private static long[] playWords(String host, int port, int level, int sessions) throws IOException {
+            long[] lat = new long[1 + sessions * 16];
+            SplittableRandom rnd = new SplittableRandom(level * 31L + Thread.currentThread().threadId());
+            HashMap<String, String> answers = new HashMap<>(); // sorted letters -> word
+            for (String[] a : WordBank.data(level)) answers.put(sortedLetters(a[0]), a[0]);
+            try (GameClient c = new GameClient(host, port)) {
+                c.setTimeout(30_000);
+                c.joinWord(level);
+                int played = 0, wrongLeft = 0;
+                String answer = null;
+                long sentAt = 0;
+                while (played < sessions) {
+                    int type = c.in.read();
+                    if (type < 0) throw new EOFException("server closed the connection");
+                    if (type == GameServer.WORD) {
+                        answer = answers.get(sortedLetters(c.in.readUTF()));
+                        c.in.readUnsignedByte();
+                        c.in.readUnsignedByte();
+                        wrongLeft = rnd.nextInt(GameServer.ATTEMPTS + 1);
+                    } else if (type == GameServer.GUESS_RESULT) {
+                        long now = System.nanoTime();
+                        boolean correct = c.in.readBoolean();
+                        int attempts = c.in.readUnsignedByte();
+                        c.in.readUTF();
+                        if (lat[0] + 1 == lat.length) lat = Arrays.copyOf(lat, lat.length * 2);
+                        lat[(int) ++lat[0]] = now - sentAt;
+                        if (correct || attempts == 0) continue; // word over, the next WORD follows
+                    } else if (type == GameServer.SESSION_OVER) {
+                        if (++played < sessions) c.joinWord(level);
+                        continue;
+                    } else if (type == GameServer.ERROR) {
+                        throw new IOException(c.in.readUTF());
+                    } else {
+                        throw new IOException("unexpected message " + type);
+                    }
+                    sentAt = System.nanoTime();
+                    c.guess(wrongLeft-- > 0 || answer == null ? "?" : answer);
+                }
+            }
+            return lat;
+        }
+
+        private static String sortedLetters(String w) {
+            char[] chars = w.toLowerCase().toCharArray();
+            Arrays.sort(chars);
+            return new String(chars);
+        }
+    }
+
+    // ---------- Allocation Check (--alloc-check) ----------
+    // Runs each hot path many times after a JIT warm-up and reads this thread's allocated bytes
+    // (com.sun.management.ThreadMXBean) around the measured loop. The best of a few rounds counts, so a
+    // one-off JVM allocation (a few hundred bytes now and then) does not fail a steady-state path. Each
+    // path calls the same helpers the panel and the server use, and has a declared budget in bytes per
+    // operation; any path over budget fails the run. The budgets are what the code allocates:
+    //   AI move          nothing (TicTacToeEngine.chooseMove works on the engine's own counters).
+    //   word pick        the ScrambleEvent (40 bytes: header, start, duration, two ints; allocated even
+    //                    with no recording) plus the scrambled String, 24 + 16 + n for the longest word.
+    //                    The chars go through a reused buffer.
+    //   guess, as typed  nothing. WordBank.isCorrect trims without copying and equalsIgnoreCase copies nothing.
+    //   guess, padded    one String from trim(), 24 + 16 + n.
+    private static final class AllocationCheck {
+        private static final int WARMUP = 50_000, MEASURED = 20_000, ROUNDS = 5;
+        private static final int SCRAMBLE_EVENT = 40;
+
+        private interface Op {
+            void run(int i);
+        }
+
+        static void run() throws IOException {
+            java.lang.management.ThreadMXBean mx = java.lang.management.ManagementFactory.getThreadMXBean();
+            if (!(mx instanceof com.sun.management.ThreadMXBean threads) || !threads.isThreadAllocatedMemorySupported())
+                throw new IOException("this JVM cannot report per-thread allocation");
+            threads.setThreadAllocatedMemoryEnabled(true);
+            SplittableRandom rnd = new SplittableRandom(42);
+            int failures = 0;
+
+            TicTacToeEngine engine = new TicTacToeEngine();
+            for (int size = 3; size <= 5; size++) {
+                int n = size;
+                int centre = (n / 2) * n + n / 2;
+                // X has taken the centre, so O falls through win, block and centre to the corner search
+                failures += check(threads, "AI move " + n + "x" + n, 0, i -> {
+                    engine.reset(n);
+                    engine.play(centre);
+                    sink += engine.chooseMove(rnd);
+                });
+            }
+
+            WordData[] bank = WordBank.words(WordBank.HARD).toArray(new WordData[0]);
+            ArrayList<WordData> list = new ArrayList<>(bank.length);
+            char[] buf = new char[WordBank.LONGEST];
+            // the calls WordPanel.pickNextWord and GameServer.nextWord make
+            failures += check(threads, "word pick + scramble", SCRAMBLE_EVENT + 24 + align(16 + WordBank.LONGEST), i -> {
+                if (list.isEmpty()) for (WordData w : bank) list.add(w);
+                sink += WordBank.scrambled(WordBank.pick(list, rnd).word, buf, rnd).length();
+            });
+
+            String answer = bank[0].word;
+            String typed = answer.toUpperCase(), padded = " " + answer + " ";
+            // the call WordPanel.submitGuess and GameServer.guess make once the text has been read
+            failures += check(threads, "guess (as typed)", 0, i -> {
+                if (WordBank.isCorrect(typed, answer)) sink++;
+            });
+            failures += check(threads, "guess (padded)", 24 + align(16 + answer.length()), i -> {
+                if (WordBank.isCorrect(padded, answer)) sink++;
+            });
+
+            if (failures > 0) throw new IOException(failures + " path(s) over their allocation budget");
+        }
+
+        private static volatile long sink; // keeps results live so the JIT cannot drop the work
+
+        private static int check(com.sun.management.ThreadMXBean threads, String name, long budget, Op op) {
+            for (int i = 0; i < WARMUP; i++) op.run(i);
+            long total = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < MEASURED; i++) op.run(i);
+                total = Math.min(total, threads.getCurrentThreadAllocatedBytes() - before);
+            }
+            boolean ok = total <= budget * MEASURED;
+            System.out.printf("%-22s %7.1f B/op  budget %4d  %s%n", name, (double) total / MEASURED, budget, ok ? "ok" : "OVER");
+            return ok ? 0 : 1;
+        }
+
+        // object sizes round up to 8 bytes (compressed oops, 16-byte array header)
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+    }
+
+    // ---------- Puzzle Pack Generator ----------
+    // Streams a corpus (one word per line, first tab-separated column) through a fixed pool in
+    // chunks; each chunk is scrambled with its own seeded RNG and chunks are written in input
+    // order, so a given seed always yields the same pack regardless of thread count. At most
+    // 2 * threads chunks are in flight. Output lines: scrambled \t answer \t hint|hint|hint
+    private static final class PuzzleGenerator {
+        private static final int CHUNK = 8192;
+        private static final Future<StringBuilder> END = CompletableFuture.completedFuture(null);
+
+        private final long seed;
+        private final HashMap<String, String[]> hints = new HashMap<>();
+
+        PuzzleGenerator(long seed) {
+            this.seed = seed;
+            for (String[][] level : new String[][][]{WordBank.EASY, WordBank.MEDIUM, WordBank.HARD})
+                for (String[] a : level) hints.putIfAbsent(a[0].toLowerCase(), new String[]{a[1], a[2], a[3]});
+        }
+
+        // Corpus iterator: a file, or the built-in word lists repeated until count words were produced.
+        static Iterator<String> builtinCorpus(long count) {
+            ArrayList<String> all = new ArrayList<>();
+            for (String[][] level : new String[][][]{WordBank.EASY, WordBank.MEDIUM, WordBank.HARD})
+                for (String[] a : level) all.add(a[0]);
+            long total = count > 0 ? count : all.size();
+            return new Iterator<>() {
+                long i;
+                public boolean hasNext() { return i < total; }
+                public String next() { return all.get((int) (i++ % all.size())); }
+            };
+        }
+
+        long generate(Iterator<String> corpus, Writer out, int threads) throws IOException {
+            ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "puzzle-worker");
+                t.setDaemon(true);
+                return t;
+            });
+            BlockingQueue<Future<StringBuilder>> inFlight = new ArrayBlockingQueue<>(threads * 2);
+            java.util.concurrent.atomic.AtomicReference<IOException> writeError = new java.util.concurrent.atomic.AtomicReference<>();
+            Thread writer = new Thread(() -> {
+                try {
+                    for (Future<StringBuilder> f; (f = inFlight.take()) != END; ) {
+                        if (writeError.get() != null) continue; // keep draining so the reader never blocks
+                        try {
+                            out.append(f.get());
+                        } catch (IOException e) {
+                            writeError.set(e);
+                        } catch (ExecutionException e) {
+                            writeError.set(new IOException(e.getCause()));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // generation was aborted
+                }
+            }, "puzzle-writer");
+            writer.setDaemon(true);
+            writer.start();
+
+            long words = 0, chunkIndex = 0;
+            try {
+                while (corpus.hasNext() && writeError.get() == null) {
+                    String[] chunk = new String[CHUNK];
+                    int n = 0;
+                    while (n < CHUNK && corpus.hasNext()) {
+                        String w = corpus.next();
+                        int tab = w.indexOf('\t');
+                        w = (tab >= 0 ? w.substring(0, tab) : w).trim();
+                        if (!w.isEmpty() && w.charAt(0) != '#') chunk[n++] = w;
+                    }
+                    words += n;
+                    long chunkSeed = seed + chunkIndex++ * 0x9E3779B97F4A7C15L;
+                    int size = n;
+                    inFlight.put(pool.submit(() -> scrambleChunk(chunk, size, chunkSeed)));
+                }
+                inFlight.put(END);
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("puzzle generation interrupted");
+            } finally {
+                pool.shutdownNow();
+                writer.interrupt(); // no-op once it has seen END
+            }
+            if (writeError.get() != null) throw writeError.get();
+            out.flush();
+            return words;
+        }
+
+        private StringBuilder scrambleChunk(String[] words, int n, long chunkSeed) {
+            SplittableRandom rnd = new SplittableRandom(chunkSeed);
+            StringBuilder sb = new StringBuilder(n * 48);
+            char[] buf = new char[64];
+            for (int i = 0; i < n; i++) {
+                String w = words[i];
+                if (w.length() > buf.length) buf = new char[w.length()];
+                WordBank.scramble(w, buf, rnd);
+                sb.append(buf, 0, w.length()).append('\t').append(w).append('\t');
+                String[] h = hints.get(w.toLowerCase());
+                if (h != null) sb.append(h[0]).append('|').append(h[1]).append('|').append(h[2]);
+                sb.append('\n');
+            }
+            return sb;
+        }
+
+        // --generate-puzzles <out|-> [corpus-file|builtin] [seed] [count]
+        static void run(String[] args) throws IOException {
+            if (args.length < 2) throw new IOException("usage: --generate-puzzles <out|-> [corpus-file|builtin] [seed] [count]");
+            String corpusArg = args.length > 2 ? args[2] : "builtin";
+            long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+            long count = args.length > 4 ? Long.parseLong(args[4]) : 0;
+            int threads = Integer.getInteger("mindgame.threads", Runtime.getRuntime().availableProcessors());
+
+            long start = System.nanoTime();
+            long words;
+            try (BufferedReader corpusReader = corpusArg.equals("builtin") ? null
+                    : Files.newBufferedReader(Paths.get(corpusArg), java.nio.charset.StandardCharsets.UTF_8);
+                 Writer out = new BufferedWriter(args[1].equals("-")
+                         ? new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), java.nio.charset.StandardCharsets.UTF_8)
+                         : Files.newBufferedWriter(Paths.get(args[1]), java.nio.charset.StandardCharsets.UTF_8), 1 << 16)) {
+                Iterator<String> corpus = corpusReader != null ? corpusReader.lines().iterator() : builtinCorpus(count);
+                words = new PuzzleGenerator(seed).generate(corpus, out, threads);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            double secs = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            System.err.printf("%d puzzles in %.2f s (%.0f per minute, %d threads, seed %d)%n",
+                    words, secs, words / secs * 60, threads, seed);
+        }
+    }
+
+    // ---------- App Metrics (process-wide counters, dumped on exit with -Dmindgame.metrics=true) ----------
+    private static final class AppMetrics {
+        private static final java.util.concurrent.ConcurrentHashMap<String, java.util.concurrent.atomic.LongAdder> COUNTERS =
+                new java.util.concurrent.ConcurrentHashMap<>();
+        private static final java.util.concurrent.ConcurrentHashMap<String, java.util.concurrent.atomic.AtomicLong> MAXIMA =
+                new java.util.concurrent.ConcurrentHashMap<>();
+
+        static void add(String name, long delta) {
+            COUNTERS.computeIfAbsent(name, _ -> new java.util.concurrent.atomic.LongAdder()).add(delta);
+        }
+
+        static void max(String name, long value) {
+            MAXIMA.computeIfAbsent(name, _ -> new java.util.concurrent.atomic.AtomicLong()).accumulateAndGet(value, Math::max);
+        }
+
+        static String snapshot() {
+            TreeMap<String, Long> all = new TreeMap<>();
+            COUNTERS.forEach((k, v) -> all.put(k, v.sum()));
+            MAXIMA.forEach((k, v) -> all.put(k, v.get()));
+            StringBuilder sb = new StringBuilder();
+            all.forEach((k, v) -> sb.append(k).append('=').append(v).append('\n'));
+            return sb.toString();
+        }
+    }
+
+    // ---------- JFR Events (no-ops unless a recording has them enabled) ----------
+    @jdk.jfr.Name("mindgame.Move")
+    @jdk.jfr.Label("Tic Tac Toe Move")
+    @jdk.jfr.Category({"Mind Game", "Tic Tac Toe"})
+    private static final class MoveEvent extends jdk.jfr.Event {
+        @jdk.jfr.Label("Board Size") int boardSize;
+        @jdk.jfr.Label("Player") char player;
+        @jdk.jfr.Label("Computer Move") boolean ai;
+        @jdk.jfr.Label("Search Time") @jdk.jfr.Timespan long searchNanos;
+    }
+
+    @jdk.jfr.Name("mindgame.Guess")
+    @jdk.jfr.Label("Word Guess")
+    @jdk.jfr.Category({"Mind Game", "Word Scramble"})
+    private static final class GuessEvent extends jdk.jfr.Event {
+        @jdk.jfr.Label("Level") String level;
+        @jdk.jfr.Label("Word Length") int wordLength;
+        @jdk.jfr.Label("Attempt") int attempt;
+        @jdk.jfr.Label("Result") String result;
+    }
+
+    @jdk.jfr.Name("mindgame.Scramble")
+    @jdk.jfr.Label("Word Scramble")
+    @jdk.jfr.Category({"Mind Game", "Word Scramble"})
+    private static final class ScrambleEvent extends jdk.jfr.Event {
+        @jdk.jfr.Label("Word Length") int wordLength;
+        @jdk.jfr.Label("Shuffles") int shuffles;
+    }
+
+    @jdk.jfr.Name("mindgame.SessionStart")
+    @jdk.jfr.Label("Session Start")
+    @jdk.jfr.Category("Mind Game")
+    private static final class SessionStartEvent extends jdk.jfr.Event {
+        @jdk.jfr.Label("Game") String game;
+        @jdk.jfr.Label("Mode") String mode;
+    }
+
+    @jdk.jfr.Name("mindgame.SessionEnd")
+    @jdk.jfr.Label("Session End")
+    @jdk.jfr.Category("Mind Game")
+    private static final class SessionEndEvent extends jdk.jfr.Event {
+        @jdk.jfr.Label("Game") String game;
+        @jdk.jfr.Label("Mode") String mode;
+        @jdk.jfr.Label("Outcome") String outcome;
+    }
+
+    private static void sessionStart(String game, String mode) {
+        SessionStartEvent e = new SessionStartEvent();
+        if (!e.isEnabled()) return;
+        e.game = game;
+        e.mode = mode;
+        e.commit();
+    }
+
+    private static void sessionEnd(String game, String mode, String outcome) {
+        SessionEndEvent e = new SessionEndEvent();
+        if (!e.isEnabled()) return;
+        e.game = game;
+        e.mode = mode;
+        e.outcome = outcome;
+        e.commit();
+    }
+
+    // ---------- EDT Stall Watchdog ----------
+    // Posts a heartbeat to the EDT every interval and measures how long it waits in the queue.
+    // When a heartbeat is late by more than the threshold, the EDT stack is captured once for that stall.
+    private static final class EdtWatchdog implements Runnable {
+        private final long intervalNanos;
+        private final long thresholdNanos;
+        private volatile Thread edtThread;
+        private volatile long pendingSince;   // 0 when no heartbeat is in flight
+        private boolean stackCaptured;        // only touched by the watchdog thread
+
+        EdtWatchdog(long intervalMillis, long thresholdMillis) {
+            this.intervalNanos = intervalMillis * 1_000_000L;
+            this.thresholdNanos = thresholdMillis * 1_000_000L;
+        }
+
+        static void start() {
+            long threshold = Long.getLong("mindgame.edt.stallMillis", 250);
+            if (threshold <= 0) return; // disabled
+            long interval = Long.getLong("mindgame.edt.intervalMillis", Math.max(20, threshold / 4));
+            EdtWatchdog watchdog = new EdtWatchdog(interval, threshold);
+            // learn the EDT up front (called from main, before any UI work is queued) so startup stalls get a stack
+            try {
+                EventQueue.invokeAndWait(() -> watchdog.edtThread = Thread.currentThread());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (java.lang.reflect.InvocationTargetException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            Thread t = new Thread(watchdog, "edt-watchdog");
+            t.setDaemon(true);
+            t.setPriority(Thread.MAX_PRIORITY);
+            t.start();
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                long since = pendingSince;
+                if (since == 0) {
+                    postHeartbeat();
+                } else if (!stackCaptured && System.nanoTime() - since > thresholdNanos) {
+                    captureStall(System.nanoTime() - since);
+                }
+                try {
+                    Thread.sleep(intervalNanos / 1_000_000L);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private void postHeartbeat() {
+            stackCaptured = false;
+            long posted = System.nanoTime();
+            pendingSince = posted;
+            EventQueue.invokeLater(() -> {
+                long delay = System.nanoTime() - posted;
+                edtThread = Thread.currentThread();
+                pendingSince = 0;
+                AppMetrics.add("edt.heartbeats", 1);
+                if (delay > thresholdNanos) {
+                    long millis = delay / 1_000_000L;
+                    AppMetrics.add("edt.stalls", 1);
+                    AppMetrics.add("edt.stallMillis.total", millis);
+                    AppMetrics.max("edt.stallMillis.max", millis);
+                }
+            });
+        }
+
+        private void captureStall(long elapsedNanos) {
+            Thread edt = edtThread;
+            if (edt == null) return; // retried on the next tick
+            stackCaptured = true;
+            StringBuilder sb = new StringBuilder("[edt-watchdog] EDT stalled for ")
+                    .append(elapsedNanos / 1_000_000L).append(" ms:\n");
+            for (StackTraceElement e : edt.getStackTrace()) sb.append("\tat ").append(e).append('\n');
+            System.err.print(sb);
+        }
+    }
+
+    // ---------- Headless commands ----------
+    private static void runHeadless(String[] args) throws IOException {
+        switch (args[0]) {
+            case "--replay-games":
+                GameArchive.replay(args.length > 1 ? Paths.get(args[1]) : GameArchive.localPath());
+                break;
+            case "--export-games":
+                if (args.length < 2) throw new IOException("usage: --export-games <file>");
+                System.out.println(GameArchive.exportTo(Paths.get(args[1])) + " games exported");
+                break;
+            case "--import-games":
+                if (args.length < 2) throw new IOException("usage: --import-games <file>");
+                System.out.println(GameArchive.importFrom(Paths.get(args[1])) + " games imported");
+                break;
+            case "--generate-puzzles":
+                PuzzleGenerator.run(args);
+                break;
+            case "--server": {
+                GameServer server = new GameServer(args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT);
+                System.out.println("Mind Game server listening on port " + server.port());
+                server.serve();
+                break;
+            }
+            case "--alloc-check":
+                AllocationCheck.run();
+                break;
+            case "--load-test": {
+                int rooms = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+                int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+                String target = args.length > 3 ? args[3] : null; // host:port, otherwise an embedded loopback server
+                int colon = target == null ? -1 : target.lastIndexOf(':');
+                LoadTest.run(rooms, games, target == null ? null : target.substring(0, colon),
+                        target == null ? 0 : Integer.parseInt(target.substring(colon + 1)));
+                break;
+            }
+            default:
+                throw new IOException("unknown option " + args[0] + "\n"
+                        + "usage: MindGameApp [--replay-games [file] | --export-games <file> | --import-games <file>\n"
+                        + "                    | --generate-puzzles <out|-> [corpus-file|builtin] [seed] [count]\n"
+                        + "                    | --server [port] | --load-test [rooms] [gamesPerRoom] [host:port]\n"
+                        + "                    | --alloc-check]");
         }
     }
 
     // ---------- main ----------
     public static void main(String[] args) {
+        if (args.length > 0) {
+            try {
+                runHeadless(args);
+            } catch (IOException e) {
+                // file system errors carry only the path as their message, so keep the exception type
+                System.err.println(e instanceof FileSystemException ? e.toString() : e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+        EdtWatchdog.start();
+        StatsStore.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // drain queued appends before the final fsync
+            try {
+                BACKGROUND_IO.submit(() -> StatsStore.get().flush()).get(2, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                StatsStore.get().flush();
+            }
+        }, "stats-flush"));
+        if (Boolean.getBoolean("mindgame.metrics")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(AppMetrics.snapshot()), "metrics-dump"));
+        }
         SwingUtilities.invokeLater(() -> {
             MindGameApp app = new MindGameApp();
             app.setVisible(true);